@@ -0,0 +1,56 @@
+package com.mygame.rain.ecs;
+
+/**
+ * Descripcion compartida por todas las entidades de un tipo: sus
+ * componentes y los datos que no cambian por entidad (tamaño, velocidad
+ * inicial, vida). Las entidades solo guardan lo que varia.
+ */
+public final class Arquetipo {
+
+    private final int id;
+    private final String nombre;
+    private final int mascara;
+    private final float ancho;
+    private final float alto;
+    private final float velocidadX;
+    private final float velocidadY;
+    private final float vida;
+
+    /**
+     * @param id    indice del arquetipo en el mundo (0..MundoEcs.MAX_ARQUETIPOS-1)
+     * @param vida  segundos de vida; solo se usa si la mascara incluye VIDA
+     */
+    public Arquetipo(int id, String nombre, int mascara, float ancho, float alto,
+                     float velocidadX, float velocidadY, float vida) {
+        if (id < 0 || id >= MundoEcs.MAX_ARQUETIPOS) {
+            throw new IllegalArgumentException("Id de arquetipo fuera de rango: " + id);
+        }
+        if ((mascara & Componentes.POSICION) == 0) {
+            throw new IllegalArgumentException("Todo arquetipo necesita POSICION");
+        }
+        if (ancho <= 0 || alto <= 0) {
+            throw new IllegalArgumentException("Ancho y alto deben ser positivos");
+        }
+        this.id = id;
+        this.nombre = nombre;
+        this.mascara = mascara;
+        this.ancho = ancho;
+        this.alto = alto;
+        this.velocidadX = velocidadX;
+        this.velocidadY = velocidadY;
+        this.vida = vida;
+    }
+
+    public boolean tiene(int componentes) {
+        return (mascara & componentes) == componentes;
+    }
+
+    public int getId() { return id; }
+    public String getNombre() { return nombre; }
+    public int getMascara() { return mascara; }
+    public float getAncho() { return ancho; }
+    public float getAlto() { return alto; }
+    public float getVelocidadX() { return velocidadX; }
+    public float getVelocidadY() { return velocidadY; }
+    public float getVida() { return vida; }
+}
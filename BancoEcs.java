@@ -0,0 +1,80 @@
+package com.mygame.rain.diagnostico;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.mygame.rain.ecs.Arquetipo;
+import com.mygame.rain.ecs.BufferEventos;
+import com.mygame.rain.ecs.Componentes;
+import com.mygame.rain.ecs.MundoEcs;
+import com.mygame.rain.ecs.SistemaColision;
+import com.mygame.rain.ecs.SistemaMovimiento;
+import com.mygame.rain.ecs.SistemaVida;
+
+/**
+ * Mide el tick del modo ECS con muchas gotas: movimiento, recoleccion con
+ * dos tarros y vida/limites, como en Lluvia.tickEcs pero sin viento ni
+ * dibujo. Las gotas que se recogen o salen se reponen arriba cada tick
+ * (fuera del tiempo medido), asi la poblacion se mantiene en n.
+ * No necesita contexto grafico.
+ *
+ * Uso: java com.mygame.rain.diagnostico.BancoEcs [n] [ticks]
+ */
+public class BancoEcs {
+
+    private static final float ANCHO_MUNDO = 800;
+    private static final float ALTO_MUNDO = 480;
+    private static final float DELTA = 1f / 60f;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        MathUtils.random.setSeed(42);
+        MundoEcs mundo = new MundoEcs(n / 4 + 1);
+        int mascara = Componentes.POSICION | Componentes.VELOCIDAD | Componentes.RECOLECTABLE;
+        for (int id = 0; id < 4; id++) {
+            mundo.registrar(new Arquetipo(id, "Gota" + id, mascara, 64, 64, 0, -300, 0));
+        }
+        for (int i = 0; i < n; i++) {
+            mundo.crear(i & 3, MathUtils.random(ANCHO_MUNDO - 64), MathUtils.random(ALTO_MUNDO));
+        }
+
+        SistemaMovimiento movimiento = new SistemaMovimiento();
+        SistemaColision colision = new SistemaColision();
+        SistemaVida vida = new SistemaVida();
+        vida.setLimites(0, ANCHO_MUNDO, -64, ALTO_MUNDO);
+        BufferEventos recolecciones = new BufferEventos();
+        BufferEventos salidas = new BufferEventos();
+        Array<Rectangle> tarros = new Array<>();
+        tarros.add(new Rectangle(200, 20, 64, 64));
+        tarros.add(new Rectangle(500, 20, 64, 64));
+
+        long totalNanos = 0;
+        long maxNanos = 0;
+        long recogidas = 0;
+        int calentamiento = Math.min(60, ticks / 5);
+        for (int t = 0; t < calentamiento + ticks; t++) {
+            recolecciones.limpiar();
+            salidas.limpiar();
+
+            long inicio = System.nanoTime();
+            movimiento.actualizar(mundo, DELTA);
+            colision.actualizar(mundo, tarros, recolecciones);
+            vida.actualizar(mundo, DELTA, salidas);
+            long duracion = System.nanoTime() - inicio;
+
+            if (t >= calentamiento) {
+                totalNanos += duracion;
+                maxNanos = Math.max(maxNanos, duracion);
+                recogidas += recolecciones.getCantidad();
+            }
+            for (int i = mundo.getCantidad(); i < n; i++) {
+                mundo.crear(i & 3, MathUtils.random(ANCHO_MUNDO - 64), ALTO_MUNDO);
+            }
+        }
+
+        System.out.printf("%d gotas, %d ticks: %.2f ms/tick (max %.2f ms), %d recogidas%n",
+                n, ticks, totalNanos / 1e6 / ticks, maxNanos / 1e6, recogidas);
+    }
+}
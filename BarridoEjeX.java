@@ -0,0 +1,88 @@
+package com.mygame.rain.managers;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.mygame.rain.entities.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * Busqueda de pares superpuestos por barrido en el eje X (sort and sweep).
+ *
+ * Ordena los objetos activos por minX y, para cada uno, solo compara con
+ * los siguientes mientras empiecen antes de que el termine. Con densidad
+ * acotada el costo es O(n log n) en vez del O(n^2) de comparar todos contra
+ * todos. Los limites se copian a arreglos primitivos en el orden del barrido
+ * para que el bucle interno no toque los objetos.
+ */
+public class BarridoEjeX {
+
+    private long[] claves = new long[0];
+    private int[] indice = new int[0];
+    private float[] minX = new float[0];
+    private float[] maxX = new float[0];
+    private float[] minY = new float[0];
+    private float[] maxY = new float[0];
+
+    /**
+     * Escribe en 'pares' (limpiado antes) los indices (i, j) de cada par de
+     * objetos activos cuyos AABB se superponen, con i < j en orden de minX.
+     *
+     * @return cantidad de pares
+     */
+    public int buscarPares(GameObject[] objetos, int cantidad, IntArray pares) {
+        pares.clear();
+        asegurarCapacidad(cantidad);
+
+        int n = 0;
+        for (int i = 0; i < cantidad; i++) {
+            GameObject obj = objetos[i];
+            if (obj.isActive()) {
+                claves[n++] = ((long) ordenable(obj.getMinX()) << 32) | (i & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(claves, 0, n);
+
+        for (int k = 0; k < n; k++) {
+            int i = (int) claves[k];
+            GameObject obj = objetos[i];
+            indice[k] = i;
+            minX[k] = obj.getMinX();
+            maxX[k] = obj.getMaxX();
+            minY[k] = obj.getMinY();
+            maxY[k] = obj.getMaxY();
+        }
+
+        for (int a = 0; a < n; a++) {
+            float finA = maxX[a];
+            float abajoA = minY[a];
+            float arribaA = maxY[a];
+            for (int b = a + 1; b < n && minX[b] < finA; b++) {
+                if (minY[b] < arribaA && maxY[b] > abajoA) {
+                    pares.add(indice[a]);
+                    pares.add(indice[b]);
+                }
+            }
+        }
+        return pares.size / 2;
+    }
+
+    private void asegurarCapacidad(int cantidad) {
+        if (claves.length >= cantidad) return;
+        int capacidad = Math.max(cantidad, claves.length * 2);
+        claves = new long[capacidad];
+        indice = new int[capacidad];
+        minX = new float[capacidad];
+        maxX = new float[capacidad];
+        minY = new float[capacidad];
+        maxY = new float[capacidad];
+    }
+
+    /**
+     * Bits del float reordenados para que la comparacion con signo de los
+     * int respete el orden de los float (incluidos los negativos).
+     */
+    private static int ordenable(float valor) {
+        int bits = Float.floatToIntBits(valor);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+}
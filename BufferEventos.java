@@ -0,0 +1,54 @@
+package com.mygame.rain.ecs;
+
+/**
+ * Eventos que producen los sistemas (recolecciones, salidas del mundo) en
+ * arreglos primitivos, para que el juego los aplique despues del tick sin
+ * crear objetos.
+ */
+public final class BufferEventos {
+
+    private int[] arquetipo = new int[64];
+    private int[] destino = new int[64];
+    private float[] x = new float[64];
+    private float[] y = new float[64];
+    private int cantidad;
+
+    /**
+     * @param destino dato libre del evento (p. ej. el indice del colector)
+     */
+    public void agregar(int idArquetipo, int destino, float px, float py) {
+        if (cantidad == x.length) {
+            crecer(x.length * 2);
+        }
+        this.arquetipo[cantidad] = idArquetipo;
+        this.destino[cantidad] = destino;
+        this.x[cantidad] = px;
+        this.y[cantidad] = py;
+        cantidad++;
+    }
+
+    public void limpiar() {
+        cantidad = 0;
+    }
+
+    public int getCantidad() { return cantidad; }
+    public int getArquetipo(int i) { return arquetipo[i]; }
+    public int getDestino(int i) { return destino[i]; }
+    public float getX(int i) { return x[i]; }
+    public float getY(int i) { return y[i]; }
+
+    private void crecer(int capacidad) {
+        int[] a = new int[capacidad];
+        int[] d = new int[capacidad];
+        float[] nx = new float[capacidad];
+        float[] ny = new float[capacidad];
+        System.arraycopy(arquetipo, 0, a, 0, cantidad);
+        System.arraycopy(destino, 0, d, 0, cantidad);
+        System.arraycopy(x, 0, nx, 0, cantidad);
+        System.arraycopy(y, 0, ny, 0, cantidad);
+        arquetipo = a;
+        destino = d;
+        x = nx;
+        y = ny;
+    }
+}
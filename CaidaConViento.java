@@ -0,0 +1,101 @@
+package com.mygame.rain.clima;
+
+import com.badlogic.gdx.math.Vector2;
+import com.mygame.rain.entities.GameObject;
+import com.mygame.rain.interfaces.MovimientoStrategy;
+import com.mygame.rain.nivel.JerarquiaObstaculos;
+import com.mygame.rain.nivel.Obstaculo;
+
+/**
+ * Caida a velocidad constante mas el viento del CampoFuerzas en el centro
+ * de la gota. Sin estado por gota: una instancia se comparte entre todas
+ * las gotas del mismo tipo. Usar solo desde el hilo que simula.
+ *
+ * Con obstaculos, el desplazamiento del tick se barre contra la jerarquia
+ * del nivel: sobre un techo la gota se escurre hacia el borde mas cercano
+ * y sobre un paraguas rebota hacia afuera (con el impulso de la gota, que
+ * la gravedad y el roce van apagando).
+ */
+public class CaidaConViento implements MovimientoStrategy {
+
+    private static final float GRAVEDAD = 900f;
+    private static final float ROCE = 2f;
+    private static final float RESTITUCION = 0.5f;
+    private static final float IMPULSO_LATERAL = 140f;
+
+    private final CampoFuerzas campo;
+    private final float velocidadCaida;
+    private final Vector2 viento = new Vector2();
+
+    private JerarquiaObstaculos obstaculos;
+    private final JerarquiaObstaculos.Impacto impacto = new JerarquiaObstaculos.Impacto();
+
+    /**
+     * @param campo          campo de viento, o null para caer en linea recta
+     * @param velocidadCaida px/s hacia abajo
+     */
+    public CaidaConViento(CampoFuerzas campo, float velocidadCaida) {
+        this.campo = campo;
+        this.velocidadCaida = velocidadCaida;
+    }
+
+    /**
+     * Obstaculos del nivel (null = sin obstaculos).
+     */
+    public void setObstaculos(JerarquiaObstaculos obstaculos) {
+        this.obstaculos = obstaculos;
+    }
+
+    @Override
+    public void mover(GameObject obj, float deltaTiempo) {
+        float impulsoX = obj.getImpulsoX();
+        float impulsoY = obj.getImpulsoY();
+        float vx = impulsoX;
+        float vy = -velocidadCaida + impulsoY;
+        if (campo != null) {
+            campo.muestrear(obj.getMinX() + obj.getWidth() / 2, obj.getMinY() + obj.getHeight() / 2, viento);
+            vx += viento.x;
+            vy += viento.y;
+        }
+        if (impulsoX != 0 || impulsoY != 0) {
+            float roce = Math.max(0, 1 - ROCE * deltaTiempo);
+            obj.setImpulso(impulsoX * roce, Math.max(0, impulsoY - GRAVEDAD * deltaTiempo));
+        }
+
+        float dx = vx * deltaTiempo;
+        float dy = vy * deltaTiempo;
+        if (obstaculos == null
+                || !obstaculos.barrer(obj.getX(), obj.getY(), obj.getWidth(), obj.getHeight(), dx, dy, impacto)) {
+            obj.setPosition(obj.getX() + dx, obj.getY() + dy);
+            return;
+        }
+
+        float t = impacto.getT();
+        float x = obj.getX() + dx * t;
+        float y = obj.getY() + dy * t;
+        float resto = 1 - t;
+        Obstaculo o = impacto.getObstaculo();
+
+        if (impacto.getNormalY() > 0) {
+            // cayo encima: hacia el borde mas cercano
+            float lado = x + obj.getWidth() / 2 < o.getCentroX() ? -1 : 1;
+            if (o.getRespuesta() == Obstaculo.REBOTAR) {
+                obj.setImpulso(lado * IMPULSO_LATERAL, -vy * (1 + RESTITUCION));
+            } else {
+                x += lado * Math.abs(dy) * resto;
+            }
+        } else if (impacto.getNormalY() < 0) {
+            // subiendo por un rebote, toco la cara de abajo
+            obj.setImpulso(obj.getImpulsoX(), 0);
+        } else {
+            // de costado: sigue cayendo pegada a la pared
+            obj.setImpulso(0, obj.getImpulsoY());
+            y += dy * resto;
+        }
+        obj.setPosition(x, y);
+    }
+
+    public float getVelocidadCaida() {
+        return velocidadCaida;
+    }
+}
@@ -0,0 +1,248 @@
+package com.mygame.rain.clima;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Campo de viento del mundo: una grilla gruesa de vectores (velocidad en
+ * px/s) que las gotas muestrean con interpolacion bilineal.
+ *
+ * Los fenomenos (rafagas, vortices, corrientes ascendentes) no se evaluan
+ * por gota: cada INTERVALO_ACTUALIZACION segundos se suman todos sobre los
+ * nodos de la grilla, y cada gota solo lee cuatro nodos. Asi el costo por
+ * gota es fijo sin importar cuantos fenomenos haya activos, y el costo de
+ * los fenomenos no depende de cuantas gotas haya.
+ */
+public class CampoFuerzas {
+
+    public static final float INTERVALO_ACTUALIZACION = 0.1f;
+    public static final int MAX_FENOMENOS = 32;
+
+    private static final int RAFAGA = 0;
+    private static final int VORTICE = 1;
+    private static final int CORRIENTE = 2;
+
+    private final float tamanoCelda;
+    private final int columnas;
+    private final int filas;
+    private final float[] vientoX;
+    private final float[] vientoY;
+
+    // Viento de fondo: base + oscilacion lenta
+    private float vientoBaseX;
+    private float amplitudOscilacion;
+    private float periodoOscilacion = 8f;
+
+    // Fenomenos activos en arreglos paralelos (sin objetos por fenomeno)
+    private final int[] tipo = new int[MAX_FENOMENOS];
+    private final float[] px = new float[MAX_FENOMENOS];
+    private final float[] py = new float[MAX_FENOMENOS];
+    private final float[] radio = new float[MAX_FENOMENOS];
+    private final float[] fuerzaX = new float[MAX_FENOMENOS];
+    private final float[] fuerzaY = new float[MAX_FENOMENOS];
+    private final float[] vida = new float[MAX_FENOMENOS];
+    private final float[] vidaInicial = new float[MAX_FENOMENOS];
+    private int cantidad;
+
+    private float reloj;
+    private float desdeActualizacion = INTERVALO_ACTUALIZACION;
+
+    public CampoFuerzas(float anchoMundo, float altoMundo, float tamanoCelda) {
+        if (anchoMundo <= 0 || altoMundo <= 0 || tamanoCelda <= 0) {
+            throw new IllegalArgumentException("Dimensiones del campo invalidas");
+        }
+        this.tamanoCelda = tamanoCelda;
+        this.columnas = MathUtils.ceil(anchoMundo / tamanoCelda) + 1;
+        this.filas = MathUtils.ceil(altoMundo / tamanoCelda) + 1;
+        this.vientoX = new float[columnas * filas];
+        this.vientoY = new float[columnas * filas];
+    }
+
+    // ===== FENOMENOS =====
+
+    /**
+     * Viento uniforme (vx, vy) en todo el mundo que sube y baja en 'duracion' segundos.
+     */
+    public boolean agregarRafaga(float vx, float vy, float duracion) {
+        return agregar(RAFAGA, 0, 0, 0, vx, vy, duracion);
+    }
+
+    /**
+     * Remolino centrado en (cx, cy). 'velocidad' es la tangencial maxima,
+     * que se alcanza a medio radio (positiva = antihorario); es 0 en el
+     * centro y en el borde, para que el remolino no corte el viento de golpe.
+     * Tangencial a distancia d: 4 * velocidad * (d/r) * (1 - d/r).
+     */
+    public boolean agregarVortice(float cx, float cy, float radioVortice, float velocidad, float duracion) {
+        return agregar(VORTICE, cx, cy, radioVortice, velocidad, 0, duracion);
+    }
+
+    /**
+     * Columna de aire ascendente centrada en x = cx, de medio ancho 'radio'.
+     */
+    public boolean agregarCorrienteAscendente(float cx, float radioColumna, float velocidad, float duracion) {
+        return agregar(CORRIENTE, cx, 0, radioColumna, 0, velocidad, duracion);
+    }
+
+    private boolean agregar(int t, float x, float y, float r, float fx, float fy, float duracion) {
+        if (duracion <= 0) {
+            throw new IllegalArgumentException("La duración debe ser positiva");
+        }
+        if (cantidad == MAX_FENOMENOS) return false;
+        int i = cantidad++;
+        tipo[i] = t;
+        px[i] = x;
+        py[i] = y;
+        radio[i] = r;
+        fuerzaX[i] = fx;
+        fuerzaY[i] = fy;
+        vida[i] = duracion;
+        vidaInicial[i] = duracion;
+        return true;
+    }
+
+    public void setVientoBase(float vx, float amplitud, float periodo) {
+        if (periodo <= 0) {
+            throw new IllegalArgumentException("El periodo debe ser positivo");
+        }
+        this.vientoBaseX = vx;
+        this.amplitudOscilacion = amplitud;
+        this.periodoOscilacion = periodo;
+    }
+
+    public void limpiar() {
+        cantidad = 0;
+        desdeActualizacion = INTERVALO_ACTUALIZACION;
+    }
+
+    // ===== ACTUALIZACION (baja frecuencia) =====
+
+    /**
+     * Avanza el reloj; la grilla se recalcula cada INTERVALO_ACTUALIZACION.
+     */
+    public void actualizar(float deltaTime) {
+        reloj += deltaTime;
+        desdeActualizacion += deltaTime;
+        if (desdeActualizacion < INTERVALO_ACTUALIZACION) return;
+
+        float transcurrido = desdeActualizacion;
+        desdeActualizacion = 0;
+        expirar(transcurrido);
+        recalcularGrilla();
+    }
+
+    private void expirar(float transcurrido) {
+        int i = 0;
+        while (i < cantidad) {
+            vida[i] -= transcurrido;
+            if (vida[i] > 0) {
+                i++;
+                continue;
+            }
+            int ultimo = --cantidad;
+            tipo[i] = tipo[ultimo];
+            px[i] = px[ultimo];
+            py[i] = py[ultimo];
+            radio[i] = radio[ultimo];
+            fuerzaX[i] = fuerzaX[ultimo];
+            fuerzaY[i] = fuerzaY[ultimo];
+            vida[i] = vida[ultimo];
+            vidaInicial[i] = vidaInicial[ultimo];
+        }
+    }
+
+    private void recalcularGrilla() {
+        float fondo = vientoBaseX + amplitudOscilacion * MathUtils.sin(MathUtils.PI2 * reloj / periodoOscilacion);
+        for (int k = 0; k < vientoX.length; k++) {
+            vientoX[k] = fondo;
+            vientoY[k] = 0;
+        }
+
+        for (int e = 0; e < cantidad; e++) {
+            // sube y baja suave a lo largo de su vida (0 -> 1 -> 0)
+            float intensidad = MathUtils.sin(MathUtils.PI * vida[e] / vidaInicial[e]);
+            switch (tipo[e]) {
+                case RAFAGA:
+                    sumarUniforme(fuerzaX[e] * intensidad, fuerzaY[e] * intensidad);
+                    break;
+                case VORTICE:
+                    sumarVortice(px[e], py[e], radio[e], fuerzaX[e] * intensidad);
+                    break;
+                case CORRIENTE:
+                    sumarCorriente(px[e], radio[e], fuerzaY[e] * intensidad);
+                    break;
+            }
+        }
+    }
+
+    private void sumarUniforme(float vx, float vy) {
+        for (int k = 0; k < vientoX.length; k++) {
+            vientoX[k] += vx;
+            vientoY[k] += vy;
+        }
+    }
+
+    private void sumarVortice(float cx, float cy, float r, float velocidad) {
+        int c0 = Math.max(0, (int) ((cx - r) / tamanoCelda));
+        int c1 = Math.min(columnas - 1, MathUtils.ceil((cx + r) / tamanoCelda));
+        int f0 = Math.max(0, (int) ((cy - r) / tamanoCelda));
+        int f1 = Math.min(filas - 1, MathUtils.ceil((cy + r) / tamanoCelda));
+        for (int f = f0; f <= f1; f++) {
+            for (int c = c0; c <= c1; c++) {
+                float dx = c * tamanoCelda - cx;
+                float dy = f * tamanoCelda - cy;
+                float d = (float) Math.sqrt(dx * dx + dy * dy);
+                if (d >= r || d < 1e-3f) continue;
+                // giro solido hacia el centro, cae a 0 en el borde; maximo 'velocidad' en d = r/2
+                float escala = velocidad / r * (1 - d / r) * 4;
+                int k = f * columnas + c;
+                vientoX[k] += -dy * escala;
+                vientoY[k] += dx * escala;
+            }
+        }
+    }
+
+    private void sumarCorriente(float cx, float r, float velocidad) {
+        int c0 = Math.max(0, (int) ((cx - r) / tamanoCelda));
+        int c1 = Math.min(columnas - 1, MathUtils.ceil((cx + r) / tamanoCelda));
+        for (int c = c0; c <= c1; c++) {
+            float d = Math.abs(c * tamanoCelda - cx);
+            if (d >= r) continue;
+            float v = velocidad * (1 - d / r);
+            for (int f = 0; f < filas; f++) {
+                vientoY[f * columnas + c] += v;
+            }
+        }
+    }
+
+    // ===== MUESTREO (por gota, por tick) =====
+
+    /**
+     * Viento en (x, y) interpolado de los cuatro nodos vecinos. Fuera del
+     * mundo se usa el borde mas cercano.
+     */
+    public Vector2 muestrear(float x, float y, Vector2 out) {
+        float gx = MathUtils.clamp(x / tamanoCelda, 0, columnas - 1.001f);
+        float gy = MathUtils.clamp(y / tamanoCelda, 0, filas - 1.001f);
+        int c = (int) gx;
+        int f = (int) gy;
+        float tx = gx - c;
+        float ty = gy - f;
+
+        int k00 = f * columnas + c;
+        int k10 = k00 + 1;
+        int k01 = k00 + columnas;
+        int k11 = k01 + 1;
+
+        float abajoX = vientoX[k00] + (vientoX[k10] - vientoX[k00]) * tx;
+        float arribaX = vientoX[k01] + (vientoX[k11] - vientoX[k01]) * tx;
+        float abajoY = vientoY[k00] + (vientoY[k10] - vientoY[k00]) * tx;
+        float arribaY = vientoY[k01] + (vientoY[k11] - vientoY[k01]) * tx;
+        return out.set(abajoX + (arribaX - abajoX) * ty, abajoY + (arribaY - abajoY) * ty);
+    }
+
+    public int getCantidadFenomenos() { return cantidad; }
+    public int getColumnas() { return columnas; }
+    public int getFilas() { return filas; }
+    public float getTamanoCelda() { return tamanoCelda; }
+}
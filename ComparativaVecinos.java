@@ -0,0 +1,96 @@
+package com.mygame.rain.diagnostico;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygame.rain.entities.GameObject;
+import com.mygame.rain.entities.Gota;
+import com.mygame.rain.entities.TipoGota;
+import com.mygame.rain.interfaces.MovimientoStrategy;
+import com.mygame.rain.managers.BarridoEjeX;
+
+/**
+ * Compara la busqueda de pares del barrido en X (usada por la fusion de
+ * gotas) contra la comparacion ingenua de todos contra todos.
+ *
+ * Las gotas (64x64) se reparten al azar en un mundo que crece con n, de
+ * modo que la densidad se mantiene (~1 de cada 4 gotas toca a otra).
+ * Para cada n imprime el tiempo promedio de ambos metodos y verifica que
+ * encuentren la misma cantidad de pares. No necesita contexto grafico.
+ *
+ * Uso: java com.mygame.rain.diagnostico.ComparativaVecinos [n1 n2 ...]
+ */
+public class ComparativaVecinos {
+
+    private static final float LADO = 64f;
+    private static final float AREA_POR_GOTA = LADO * LADO * 16;
+
+    public static void main(String[] args) {
+        int[] tamanos = { 1000, 5000, 10000, 20000, 50000 };
+        if (args.length > 0) {
+            tamanos = new int[args.length];
+            for (int i = 0; i < args.length; i++) tamanos[i] = Integer.parseInt(args[i]);
+        }
+
+        MathUtils.random.setSeed(42);
+        BarridoEjeX barrido = new BarridoEjeX();
+        IntArray pares = new IntArray();
+
+        System.out.printf("%8s %8s %14s %14s %9s%n", "gotas", "pares", "barrido(ms)", "ingenuo(ms)", "ventaja");
+        for (int n : tamanos) {
+            GameObject[] gotas = generar(n);
+            int repeticiones = Math.max(1, 200000 / n);
+
+            // calentamiento para que el JIT compile ambos caminos
+            barrido.buscarPares(gotas, n, pares);
+            buscarParesIngenuo(gotas, n, pares);
+
+            long inicio = System.nanoTime();
+            int paresBarrido = 0;
+            for (int r = 0; r < repeticiones; r++) {
+                paresBarrido = barrido.buscarPares(gotas, n, pares);
+            }
+            double msBarrido = (System.nanoTime() - inicio) / 1e6 / repeticiones;
+
+            int repeticionesIngenuo = Math.max(1, repeticiones / 10);
+            inicio = System.nanoTime();
+            int paresIngenuo = 0;
+            for (int r = 0; r < repeticionesIngenuo; r++) {
+                paresIngenuo = buscarParesIngenuo(gotas, n, pares);
+            }
+            double msIngenuo = (System.nanoTime() - inicio) / 1e6 / repeticionesIngenuo;
+
+            if (paresBarrido != paresIngenuo) {
+                throw new IllegalStateException("Pares distintos con " + n + " gotas: "
+                        + paresBarrido + " vs " + paresIngenuo);
+            }
+            System.out.printf("%8d %8d %14.3f %14.3f %8.1fx%n",
+                    n, paresBarrido, msBarrido, msIngenuo, msIngenuo / msBarrido);
+        }
+    }
+
+    private static GameObject[] generar(int n) {
+        float lado = (float) Math.sqrt(n * AREA_POR_GOTA);
+        TipoGota tipo = new TipoGota(TipoGota.BUENA, "GotaBuena", null, null, LADO, LADO, 10, 0, 0,
+                new MovimientoStrategy[] { null });
+        GameObject[] gotas = new GameObject[n];
+        for (int i = 0; i < n; i++) {
+            gotas[i] = new Gota(MathUtils.random(lado), MathUtils.random(lado), tipo);
+        }
+        return gotas;
+    }
+
+    private static int buscarParesIngenuo(GameObject[] objetos, int cantidad, IntArray pares) {
+        pares.clear();
+        for (int i = 0; i < cantidad; i++) {
+            GameObject a = objetos[i];
+            for (int j = i + 1; j < cantidad; j++) {
+                GameObject b = objetos[j];
+                if (a.overlaps(b.getMinX(), b.getMinY(), b.getWidth(), b.getHeight())) {
+                    pares.add(i);
+                    pares.add(j);
+                }
+            }
+        }
+        return pares.size / 2;
+    }
+}
@@ -0,0 +1,16 @@
+package com.mygame.rain.ecs;
+
+/**
+ * Componentes del modo ECS como bits de una mascara. Un arquetipo declara
+ * los que tiene y las consultas piden todos los bits que necesitan.
+ */
+public final class Componentes {
+
+    public static final int POSICION = 1;
+    public static final int VELOCIDAD = 1 << 1;
+    public static final int RECOLECTABLE = 1 << 2;
+    public static final int VIDA = 1 << 3;
+    public static final int SPRITE = 1 << 4;
+
+    private Componentes() {}
+}
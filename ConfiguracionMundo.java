@@ -0,0 +1,67 @@
+package puppy.code;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Tamaño del mundo y de la vista en unidades de juego. El mundo puede ser
+ * mas grande que la vista; en ese caso la camara sigue al tarro y las gotas
+ * fuera de la vista se actualizan cada "divisorFueraDeVista" ticks.
+ */
+public class ConfiguracionMundo {
+
+	public static final float ANCHO_POR_DEFECTO = 800;
+	public static final float ALTO_POR_DEFECTO = 480;
+
+	private final float anchoMundo;
+	private final float altoMundo;
+	private final float anchoVista;
+	private final float altoVista;
+	private int divisorFueraDeVista = 4;
+	private float margenActualizacion = 64;
+
+	public ConfiguracionMundo(float anchoMundo, float altoMundo, float anchoVista, float altoVista) {
+		if (anchoMundo <= 0 || altoMundo <= 0 || anchoVista <= 0 || altoVista <= 0) {
+			throw new IllegalArgumentException("Las dimensiones del mundo y la vista deben ser positivas");
+		}
+		if (anchoVista > anchoMundo || altoVista > altoMundo) {
+			throw new IllegalArgumentException("La vista no puede ser mas grande que el mundo");
+		}
+		this.anchoMundo = anchoMundo;
+		this.altoMundo = altoMundo;
+		this.anchoVista = anchoVista;
+		this.altoVista = altoVista;
+	}
+
+	public static ConfiguracionMundo porDefecto() {
+		return new ConfiguracionMundo(ANCHO_POR_DEFECTO, ALTO_POR_DEFECTO, ANCHO_POR_DEFECTO, ALTO_POR_DEFECTO);
+	}
+
+	/**
+	 * Viewport independiente de la resolucion (con bandas si el aspecto no coincide).
+	 */
+	public Viewport crearViewport(Camera camera) {
+		return new FitViewport(anchoVista, altoVista, camera);
+	}
+
+	public boolean esMundoDesplazable() {
+		return anchoMundo > anchoVista || altoMundo > altoVista;
+	}
+
+	public float getAnchoMundo() { return anchoMundo; }
+	public float getAltoMundo() { return altoMundo; }
+	public float getAnchoVista() { return anchoVista; }
+	public float getAltoVista() { return altoVista; }
+
+	public int getDivisorFueraDeVista() { return divisorFueraDeVista; }
+	public void setDivisorFueraDeVista(int divisor) {
+		if (divisor < 1) {
+			throw new IllegalArgumentException("El divisor debe ser al menos 1");
+		}
+		this.divisorFueraDeVista = divisor;
+	}
+
+	public float getMargenActualizacion() { return margenActualizacion; }
+	public void setMargenActualizacion(float margen) { this.margenActualizacion = Math.max(0, margen); }
+}
@@ -0,0 +1,102 @@
+package com.mygame.rain.recursos;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.tools.ktx.KTXProcessor;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+/**
+ * Etapa de recursos (escritorio, antes de armar el juego): empaqueta los
+ * sprites sueltos, el fondo y un pixel blanco en lluvia.atlas con filtro
+ * de mipmaps, que Recursos carga como regiones de una sola pagina.
+ *
+ * Con --ktx el fondo queda fuera del atlas y se escribe fondo.ktx en ETC1
+ * con su cadena de mipmaps (ETC1 no tiene alfa: sirve para el fondo, no
+ * para los sprites). La conversion usa el backend headless y sus nativos.
+ *
+ * Uso: java com.mygame.rain.recursos.EmpaquetadorAtlas dirPng dirSalida [--ktx]
+ */
+public class EmpaquetadorAtlas {
+
+    private static final int TAMANO_PAGINA = 1024;
+    // margen con los bordes duplicados: los niveles de mipmap chicos no mezclan regiones vecinas
+    private static final int MARGEN = 4;
+    private static final int LADO_PIXEL = 8;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Uso: EmpaquetadorAtlas dirPng dirSalida [--ktx]");
+            System.exit(2);
+        }
+        File entrada = new File(args[0]);
+        File salida = new File(args[1]);
+        boolean ktx = args.length > 2 && args[2].equals("--ktx");
+
+        TexturePacker empaquetador = new TexturePacker(crearAjustes());
+        // nombres de region relativos a dirPng, sin extension
+        empaquetador.setRootDir(entrada);
+        for (String nombre : Recursos.SPRITES) {
+            empaquetador.addImage(archivo(entrada, nombre));
+        }
+        empaquetador.addImage(pixelBlanco(), Recursos.PIXEL);
+        if (!ktx) {
+            empaquetador.addImage(archivo(entrada, Recursos.FONDO));
+        }
+        String nombreAtlas = Recursos.ARCHIVO_ATLAS.substring(0, Recursos.ARCHIVO_ATLAS.lastIndexOf('.'));
+        empaquetador.pack(salida, nombreAtlas);
+
+        System.out.println("Atlas escrito en " + salida);
+
+        File fondoKtx = new File(salida, Recursos.ARCHIVO_FONDO_KTX);
+        if (ktx) {
+            // mipmaps generados, ETC1, sin atlas de alfa; corre en su propia
+            // aplicacion headless y termina despues de volver de convert()
+            KTXProcessor.convert(archivo(entrada, Recursos.FONDO).getPath(), fondoKtx.getPath(), true, true, false);
+        } else if (fondoKtx.delete()) {
+            // uno viejo haria que Recursos ignore el fondo del atlas
+            System.out.println("Eliminado " + fondoKtx);
+        }
+    }
+
+    static TexturePacker.Settings crearAjustes() {
+        TexturePacker.Settings ajustes = new TexturePacker.Settings();
+        ajustes.maxWidth = TAMANO_PAGINA;
+        ajustes.maxHeight = TAMANO_PAGINA;
+        ajustes.pot = true;
+        ajustes.paddingX = MARGEN;
+        ajustes.paddingY = MARGEN;
+        ajustes.edgePadding = true;
+        ajustes.duplicatePadding = true;
+        // regiones del mismo tamaño que los png: no cambian dibujo ni mascaras
+        ajustes.rotation = false;
+        ajustes.stripWhitespaceX = false;
+        ajustes.stripWhitespaceY = false;
+        ajustes.format = Pixmap.Format.RGBA8888;
+        ajustes.filterMin = Texture.TextureFilter.MipMapLinearLinear;
+        ajustes.filterMag = Texture.TextureFilter.Linear;
+        return ajustes;
+    }
+
+    private static File archivo(File dir, String nombre) {
+        File archivo = new File(dir, nombre + ".png");
+        if (!archivo.isFile()) {
+            throw new IllegalArgumentException("Falta " + archivo);
+        }
+        return archivo;
+    }
+
+    // region blanca para obstaculos y particulas (se tiñen al dibujar)
+    private static BufferedImage pixelBlanco() {
+        BufferedImage imagen = new BufferedImage(LADO_PIXEL, LADO_PIXEL, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = imagen.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, LADO_PIXEL, LADO_PIXEL);
+        g.dispose();
+        return imagen;
+    }
+}
@@ -0,0 +1,38 @@
+package com.mygame.rain.input;
+
+/**
+ * Junta varias fuentes en un solo frame: los botones se combinan con OR y
+ * el objetivo de arrastre es el de la primera fuente que lo tenga.
+ */
+public class EntradaCombinada implements FuenteEntrada {
+
+    private final FuenteEntrada[] fuentes;
+
+    public EntradaCombinada(FuenteEntrada... fuentes) {
+        if (fuentes == null || fuentes.length == 0) {
+            throw new IllegalArgumentException("Se necesita al menos una fuente de entrada");
+        }
+        this.fuentes = fuentes.clone();
+    }
+
+    @Override
+    public FrameEntrada muestrear(long tick, long tiempoMuestreo, long tiempoEvento) {
+        boolean izquierda = false, derecha = false, toque = false, pausa = false, estadisticas = false;
+        float objetivoX = Float.NaN;
+        long evento = tiempoEvento;
+
+        for (FuenteEntrada fuente : fuentes) {
+            FrameEntrada f = fuente.muestrear(tick, tiempoMuestreo, tiempoEvento);
+            izquierda |= f.isIzquierda();
+            derecha |= f.isDerecha();
+            toque |= f.isToque();
+            pausa |= f.isPausa();
+            estadisticas |= f.isAlternarEstadisticas();
+            if (Float.isNaN(objetivoX)) objetivoX = f.getObjetivoX();
+            evento = Math.max(evento, f.getTiempoEventoNanos());
+        }
+
+        return new FrameEntrada(tick, tiempoMuestreo, evento,
+                izquierda, derecha, objetivoX, toque, pausa, estadisticas);
+    }
+}
@@ -0,0 +1,51 @@
+package com.mygame.rain.input;
+
+/**
+ * Entrada sintética que repite en bucle una secuencia de pasos
+ * (izquierda/derecha/quieto durante N ticks). Sirve para pruebas sin
+ * teclado. Cada cambio de paso se informa como un evento nuevo.
+ */
+public class EntradaGuionada implements FuenteEntrada {
+
+    public static final int QUIETO = 0;
+    public static final int IZQUIERDA = -1;
+    public static final int DERECHA = 1;
+
+    private final int[] direcciones;
+    private final int[] duraciones;
+    private int paso;
+    private int ticksEnPaso;
+    private boolean primerTick = true;
+
+    /**
+     * @param direcciones QUIETO, IZQUIERDA o DERECHA por paso
+     * @param duraciones  duración de cada paso en ticks
+     */
+    public EntradaGuionada(int[] direcciones, int[] duraciones) {
+        if (direcciones.length == 0 || direcciones.length != duraciones.length) {
+            throw new IllegalArgumentException("Direcciones y duraciones deben tener el mismo largo (> 0)");
+        }
+        for (int d : duraciones) {
+            if (d <= 0) throw new IllegalArgumentException("Las duraciones deben ser positivas");
+        }
+        this.direcciones = direcciones.clone();
+        this.duraciones = duraciones.clone();
+    }
+
+    @Override
+    public FrameEntrada muestrear(long tick, long tiempoMuestreo, long tiempoEvento) {
+        boolean cambio = primerTick;
+        primerTick = false;
+
+        if (ticksEnPaso >= duraciones[paso]) {
+            ticksEnPaso = 0;
+            paso = (paso + 1) % direcciones.length;
+            cambio = true;
+        }
+        ticksEnPaso++;
+
+        int direccion = direcciones[paso];
+        return new FrameEntrada(tick, tiempoMuestreo, cambio ? tiempoMuestreo : tiempoEvento,
+                direccion == IZQUIERDA, direccion == DERECHA, Float.NaN, false, false, false);
+    }
+}
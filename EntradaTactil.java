@@ -0,0 +1,32 @@
+package com.mygame.rain.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Toque o arrastre con el mouse: el tarro va hacia la x del mundo donde
+ * está el dedo/puntero mientras se mantiene presionado.
+ */
+public class EntradaTactil implements FuenteEntrada {
+
+    private final Viewport viewport;
+    private final Vector3 punto = new Vector3();
+
+    public EntradaTactil(Viewport viewport) {
+        this.viewport = viewport;
+    }
+
+    @Override
+    public FrameEntrada muestrear(long tick, long tiempoMuestreo, long tiempoEvento) {
+        boolean tocando = Gdx.input.isTouched();
+        float objetivoX = Float.NaN;
+        if (tocando) {
+            punto.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+            viewport.unproject(punto);
+            objetivoX = punto.x;
+        }
+        return new FrameEntrada(tick, tiempoMuestreo, tiempoEvento,
+                false, false, objetivoX, tocando, false, false);
+    }
+}
@@ -0,0 +1,31 @@
+package com.mygame.rain.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * Flechas (o las teclas configuradas) para mover, P/ESC para pausar y F3
+ * para las estadísticas del HUD.
+ */
+public class EntradaTeclado implements FuenteEntrada {
+
+    private final int teclaIzquierda;
+    private final int teclaDerecha;
+
+    public EntradaTeclado() {
+        this(Input.Keys.LEFT, Input.Keys.RIGHT);
+    }
+
+    public EntradaTeclado(int teclaIzquierda, int teclaDerecha) {
+        this.teclaIzquierda = teclaIzquierda;
+        this.teclaDerecha = teclaDerecha;
+    }
+
+    @Override
+    public FrameEntrada muestrear(long tick, long tiempoMuestreo, long tiempoEvento) {
+        boolean pausa = Gdx.input.isKeyJustPressed(Input.Keys.P) || Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE);
+        return new FrameEntrada(tick, tiempoMuestreo, tiempoEvento,
+                Gdx.input.isKeyPressed(teclaIzquierda), Gdx.input.isKeyPressed(teclaDerecha), Float.NaN,
+                false, pausa, Gdx.input.isKeyJustPressed(Input.Keys.F3));
+    }
+}
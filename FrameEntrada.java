@@ -0,0 +1,56 @@
+package com.mygame.rain.input;
+
+/**
+ * Estado de la entrada muestreado una vez por tick. Inmutable: la
+ * simulacion lee siempre el mismo valor durante todo el tick, venga de
+ * teclado, toque, un guion o una IA.
+ */
+public final class FrameEntrada {
+
+    public static final FrameEntrada VACIO = new FrameEntrada(0, 0, 0, false, false, Float.NaN, false, false, false);
+
+    private final long tick;
+    private final long tiempoMuestreoNanos;
+    private final long tiempoEventoNanos;
+    private final boolean izquierda;
+    private final boolean derecha;
+    private final float objetivoX;
+    private final boolean toque;
+    private final boolean pausa;
+    private final boolean alternarEstadisticas;
+
+    public FrameEntrada(long tick, long tiempoMuestreoNanos, long tiempoEventoNanos,
+                        boolean izquierda, boolean derecha, float objetivoX,
+                        boolean toque, boolean pausa, boolean alternarEstadisticas) {
+        this.tick = tick;
+        this.tiempoMuestreoNanos = tiempoMuestreoNanos;
+        this.tiempoEventoNanos = tiempoEventoNanos;
+        this.izquierda = izquierda;
+        this.derecha = derecha;
+        this.objetivoX = objetivoX;
+        this.toque = toque;
+        this.pausa = pausa;
+        this.alternarEstadisticas = alternarEstadisticas;
+    }
+
+    public long getTick() { return tick; }
+
+    /** Momento (TimeUtils.nanoTime) en que se tomó la muestra. */
+    public long getTiempoMuestreoNanos() { return tiempoMuestreoNanos; }
+
+    /** Momento del evento de entrada más reciente desde la muestra anterior, 0 si no hubo. */
+    public long getTiempoEventoNanos() { return tiempoEventoNanos; }
+
+    public boolean hayEvento() { return tiempoEventoNanos != 0; }
+
+    public boolean isIzquierda() { return izquierda; }
+    public boolean isDerecha() { return derecha; }
+
+    /** Posición x del mundo hacia la que arrastrar el tarro, o NaN si no hay. */
+    public float getObjetivoX() { return objetivoX; }
+    public boolean tieneObjetivo() { return !Float.isNaN(objetivoX); }
+
+    public boolean isToque() { return toque; }
+    public boolean isPausa() { return pausa; }
+    public boolean isAlternarEstadisticas() { return alternarEstadisticas; }
+}
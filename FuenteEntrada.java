@@ -0,0 +1,14 @@
+package com.mygame.rain.input;
+
+/**
+ * Origen de la entrada de un jugador: teclado, toque, guion o IA.
+ */
+public interface FuenteEntrada {
+
+    /**
+     * @param tick              número de tick que va a consumir la muestra
+     * @param tiempoMuestreo    TimeUtils.nanoTime() al muestrear
+     * @param tiempoEvento      momento del último evento físico desde la muestra anterior (0 si no hubo)
+     */
+    FrameEntrada muestrear(long tick, long tiempoMuestreo, long tiempoEvento);
+}
@@ -1,14 +1,20 @@
 package puppy.code;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.mygame.rain.diagnostico.MedidorCpu;
 
 public class GameLluviaMenu extends Game {
 
 	private SpriteBatch batch;
 	private BitmapFont font;
 	private int higherScore;
+	private ConfiguracionMundo configuracion = ConfiguracionMundo.porDefecto();
+	// CPU y cuadros por pantalla (para ver el consumo en reposo)
+	private final MedidorCpu medidorCpu = new MedidorCpu();
 
 	public void create() {
 		batch = new SpriteBatch();
@@ -18,9 +24,20 @@ public class GameLluviaMenu extends Game {
 
 	public void render() {
 		super.render(); 
+		medidorCpu.contarCuadro();
+	}
+
+	@Override
+	public void setScreen(Screen screen) {
+		String tramo = medidorCpu.terminar();
+		if (tramo != null) Gdx.app.log("CPU", tramo);
+		super.setScreen(screen);
+		if (screen != null) medidorCpu.iniciar(screen.getClass().getSimpleName());
 	}
 
 	public void dispose() {
+		medidorCpu.terminar();
+		Gdx.app.log("CPU", medidorCpu.getReporte());
 		batch.dispose();
 		font.dispose();
 	}
@@ -40,6 +57,14 @@ public class GameLluviaMenu extends Game {
 	public void setHigherScore(int higherScore) {
 		this.higherScore = higherScore;
 	}
+
+	public ConfiguracionMundo getConfiguracion() {
+		return configuracion;
+	}
+
+	public void setConfiguracion(ConfiguracionMundo configuracion) {
+		this.configuracion = configuracion;
+	}
 	
 
 }
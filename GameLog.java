@@ -0,0 +1,166 @@
+package com.mygame.rain.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro de eventos del juego con niveles y escritura en segundo plano.
+ *
+ * El hilo de juego solo copia la plantilla y el argumento primitivo a un
+ * buffer circular; el formateo ("{}" -> valor) y la salida por consola los
+ * hace un hilo demonio. Si el buffer se llena el mensaje se descarta en vez
+ * de bloquear el frame.
+ *
+ * Se activa con -Dlluvia.log=true (nivel con -Dlluvia.log.nivel=DEBUG|INFO|WARN|ERROR).
+ * Desactivado, HABILITADO es una constante y el JIT elimina las llamadas.
+ *
+ * Varios productores: con -Dlluvia.hiloSimulacion registran tanto el hilo de
+ * simulación (Lluvia, Gota) como el de render (GobernadorCalidad). Cada
+ * productor reserva su slot con un CAS sobre 'escritura' y lo publica al
+ * terminar de llenarlo; el escritor no pasa de un slot reservado hasta que
+ * esté publicado.
+ */
+public final class GameLog {
+
+    public enum Nivel { DEBUG, INFO, WARN, ERROR, OFF }
+
+    public static final boolean HABILITADO = Boolean.getBoolean("lluvia.log");
+    private static final Nivel NIVEL_MINIMO = leerNivel(System.getProperty("lluvia.log.nivel", "INFO"));
+
+    private static final int CAPACIDAD = 1024; // potencia de 2
+    private static final int MASCARA = CAPACIDAD - 1;
+
+    private static final byte SIN_ARGUMENTO = 0;
+    private static final byte ENTERO = 1;
+    private static final byte DECIMAL = 2;
+
+    // Slots del buffer circular (arreglos paralelos, sin objetos por mensaje)
+    private static final Nivel[] niveles = new Nivel[CAPACIDAD];
+    private static final String[] plantillas = new String[CAPACIDAD];
+    private static final long[] enteros = new long[CAPACIDAD];
+    private static final double[] decimales = new double[CAPACIDAD];
+    private static final byte[] tiposArgumento = new byte[CAPACIDAD];
+    // posicion + 1 del ultimo mensaje completo en cada slot
+    private static final AtomicLongArray publicados = new AtomicLongArray(CAPACIDAD);
+
+    private static final AtomicLong escritura = new AtomicLong();
+    private static final AtomicLong lectura = new AtomicLong();
+    private static final AtomicLong descartados = new AtomicLong();
+
+    static {
+        if (HABILITADO) {
+            Thread escritor = new Thread(GameLog::bucleEscritor, "GameLog-escritor");
+            escritor.setDaemon(true);
+            escritor.start();
+        }
+    }
+
+    private GameLog() {}
+
+    public static boolean estaActivo(Nivel nivel) {
+        return HABILITADO && nivel.ordinal() >= NIVEL_MINIMO.ordinal();
+    }
+
+    public static void debug(String plantilla) { log(Nivel.DEBUG, plantilla, SIN_ARGUMENTO, 0, 0); }
+    public static void debug(String plantilla, long valor) { log(Nivel.DEBUG, plantilla, ENTERO, valor, 0); }
+    public static void debug(String plantilla, double valor) { log(Nivel.DEBUG, plantilla, DECIMAL, 0, valor); }
+
+    public static void info(String plantilla) { log(Nivel.INFO, plantilla, SIN_ARGUMENTO, 0, 0); }
+    public static void info(String plantilla, long valor) { log(Nivel.INFO, plantilla, ENTERO, valor, 0); }
+    public static void info(String plantilla, double valor) { log(Nivel.INFO, plantilla, DECIMAL, 0, valor); }
+
+    public static void warn(String plantilla) { log(Nivel.WARN, plantilla, SIN_ARGUMENTO, 0, 0); }
+    public static void warn(String plantilla, long valor) { log(Nivel.WARN, plantilla, ENTERO, valor, 0); }
+    public static void warn(String plantilla, double valor) { log(Nivel.WARN, plantilla, DECIMAL, 0, valor); }
+
+    public static void error(String plantilla) { log(Nivel.ERROR, plantilla, SIN_ARGUMENTO, 0, 0); }
+    public static void error(String plantilla, long valor) { log(Nivel.ERROR, plantilla, ENTERO, valor, 0); }
+    public static void error(String plantilla, double valor) { log(Nivel.ERROR, plantilla, DECIMAL, 0, valor); }
+
+    /**
+     * Mensajes perdidos porque el buffer estaba lleno.
+     */
+    public static long getDescartados() {
+        return descartados.get();
+    }
+
+    private static void log(Nivel nivel, String plantilla, byte tipo, long entero, double decimal) {
+        if (!HABILITADO || nivel.ordinal() < NIVEL_MINIMO.ordinal()) return;
+
+        long posicion;
+        do {
+            posicion = escritura.get();
+            if (posicion - lectura.get() >= CAPACIDAD) {
+                descartados.incrementAndGet();
+                return;
+            }
+        } while (!escritura.compareAndSet(posicion, posicion + 1));
+
+        int slot = (int) (posicion & MASCARA);
+        niveles[slot] = nivel;
+        plantillas[slot] = plantilla;
+        tiposArgumento[slot] = tipo;
+        enteros[slot] = entero;
+        decimales[slot] = decimal;
+
+        // Publica el slot: el escritor lo ve completo al leer 'publicados'
+        publicados.lazySet(slot, posicion + 1);
+    }
+
+    private static void bucleEscritor() {
+        StringBuilder linea = new StringBuilder(128);
+
+        while (true) {
+            long posicion = lectura.get();
+            long limite = escritura.get();
+
+            if (posicion == limite) {
+                LockSupport.parkNanos(1_000_000L);
+                continue;
+            }
+
+            while (posicion < limite) {
+                int slot = (int) (posicion & MASCARA);
+                if (publicados.get(slot) != posicion + 1) {
+                    // reservado pero su productor aun lo esta llenando
+                    break;
+                }
+                formatear(linea, slot);
+                plantillas[slot] = null;
+                posicion++;
+                lectura.lazySet(posicion);
+                System.out.println(linea);
+            }
+        }
+    }
+
+    private static void formatear(StringBuilder linea, int slot) {
+        linea.setLength(0);
+        linea.append('[').append(niveles[slot]).append("] ");
+
+        String plantilla = plantillas[slot];
+        int marcador = tiposArgumento[slot] == SIN_ARGUMENTO ? -1 : plantilla.indexOf("{}");
+
+        if (marcador < 0) {
+            linea.append(plantilla);
+            return;
+        }
+
+        linea.append(plantilla, 0, marcador);
+        if (tiposArgumento[slot] == ENTERO) {
+            linea.append(enteros[slot]);
+        } else {
+            linea.append(decimales[slot]);
+        }
+        linea.append(plantilla, marcador + 2, plantilla.length());
+    }
+
+    private static Nivel leerNivel(String valor) {
+        try {
+            return Nivel.valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Nivel.INFO;
+        }
+    }
+}
@@ -1,30 +1,28 @@
 package com.mygame.rain.entities;
 
 import com.mygame.rain.interfaces.MovimientoStrategy;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 
+/**
+ * Base de las entidades del mundo. Solo guarda lo propio de cada instancia
+ * (posicion, impulso, si esta activa); tamaño, textura, mascara y
+ * estrategia los entrega cada subclase, normalmente desde un descriptor
+ * compartido (ver TipoGota).
+ */
 public abstract class GameObject {
     private float x;
     private float y;
-    private float width;
-    private float height;
-    private Texture texture;
-    private Rectangle bounds;
     private boolean active;
 
-    private MovimientoStrategy estrategiaMovimiento;
+    // Velocidad extra temporal (rebotes); la estrategia de movimiento la suma y la atenua
+    private float impulsoX;
+    private float impulsoY;
 
-    public GameObject(float x, float y, float width, float height) {
-        if (width <= 0 || height <= 0) {
-            throw new IllegalArgumentException("Width y height deben ser positivos");
-        }
+    public GameObject(float x, float y) {
         this.x = x;
         this.y = y;
-        this.width = width;
-        this.height = height;
-        this.bounds = new Rectangle(x, y, width, height);
         this.active = true;
     }
 
@@ -34,7 +32,6 @@ public abstract class GameObject {
 
         beforeUpdate(deltaTime);
         mover(deltaTime);
-        updateBounds();
         afterUpdate(deltaTime);
     }
 
@@ -46,9 +43,10 @@ public abstract class GameObject {
 
     // RENDER
     public final void render(SpriteBatch batch) {
-        if (active && texture != null) {
+        TextureRegion region = getRegion();
+        if (active && region != null) {
             beforeRender(batch);
-            batch.draw(texture, x, y, width, height);
+            batch.draw(region, x, y, getWidth(), getHeight());
             afterRender(batch);
         }
     }
@@ -57,52 +55,88 @@ public abstract class GameObject {
 
     protected void afterRender(SpriteBatch batch) {}
 
-    private void updateBounds() {
-        bounds.set(x, y, width, height);
-    }
-
     // GETTERS
     public float getX() { return x; }
     public float getY() { return y; }
-    public float getWidth() { return width; }
-    public float getHeight() { return height; }
-    public Rectangle getBounds() { return new Rectangle(bounds); }
+    public abstract float getWidth();
+    public abstract float getHeight();
     public boolean isActive() { return active; }
 
+    /**
+     * Copia de los limites. Para consultas por frame usar getMinX()..getMaxY()
+     * u overlaps(), que no crean objetos.
+     */
+    public Rectangle getBounds() { return new Rectangle(x, y, getWidth(), getHeight()); }
+
+    // AABB SIN COPIA (solo lectura)
+    public float getMinX() { return x; }
+    public float getMinY() { return y; }
+    public float getMaxX() { return x + getWidth(); }
+    public float getMaxY() { return y + getHeight(); }
+
+    public boolean overlaps(Rectangle r) {
+        return r != null && overlaps(r.x, r.y, r.width, r.height);
+    }
+
+    public boolean overlaps(float rx, float ry, float rw, float rh) {
+        return x < rx + rw && x + getWidth() > rx && y < ry + rh && y + getHeight() > ry;
+    }
+
     // SETTERS
-    public void setX(float x) { this.x = x; updateBounds(); }
-    public void setY(float y) { this.y = y; updateBounds(); }
+    public void setX(float x) { this.x = x; }
+    public void setY(float y) { this.y = y; }
 
     public void setPosition(float x, float y) {
         this.x = x;
         this.y = y;
-        updateBounds();
     }
 
     public void setActive(boolean active) { this.active = active; }
 
-    protected void setTexture(Texture texture) { this.texture = texture; }
-    protected Texture getTexture() { return texture; }
+    /** Region a dibujar (null = no se dibuja). */
+    protected TextureRegion getRegion() { return null; }
 
     public boolean collidesWith(GameObject other) {
         if (other == null || !this.active || !other.active) return false;
-        return this.bounds.overlaps(other.bounds);
+        if (!overlaps(other.x, other.y, other.getWidth(), other.getHeight())) return false;
+        MascaraAlfa mascara = getMascara();
+        MascaraAlfa otra = other.getMascara();
+        return mascara == null || otra == null || mascara.superpone(x, y, otra, other.x, other.y);
+    }
+
+    /**
+     * true si la mascara de este objeto toca la de un area en (rx, ry); sin
+     * alguna de las dos mascaras basta con el AABB. Llamar solo cuando los
+     * AABB ya se superponen.
+     */
+    public boolean collidesWithMask(MascaraAlfa otra, float rx, float ry) {
+        MascaraAlfa mascara = getMascara();
+        return mascara == null || otra == null || mascara.superpone(x, y, otra, rx, ry);
     }
 
+    // MASCARA (fase fina de colision; null = solo AABB)
+    public MascaraAlfa getMascara() { return null; }
+
     public boolean isOutOfBounds(float minX, float maxX, float minY, float maxY) {
-        return x + width < minX || x > maxX || y + height < minY || y > maxY;
+        return x + getWidth() < minX || x > maxX || y + getHeight() < minY || y > maxY;
     }
 
-    // STRATEGY
-    public void setEstrategiaMovimiento(MovimientoStrategy estrategiaMovimiento) {
-        this.estrategiaMovimiento = estrategiaMovimiento;
+    // IMPULSO
+    public float getImpulsoX() { return impulsoX; }
+    public float getImpulsoY() { return impulsoY; }
+
+    public void setImpulso(float impulsoX, float impulsoY) {
+        this.impulsoX = impulsoX;
+        this.impulsoY = impulsoY;
     }
 
+    // STRATEGY
     public MovimientoStrategy getEstrategiaMovimiento() {
-        return estrategiaMovimiento;
+        return null;
     }
 
     protected void aplicarEstrategiaMovimiento(float deltaTime) {
+        MovimientoStrategy estrategiaMovimiento = getEstrategiaMovimiento();
         if (estrategiaMovimiento != null) {
             estrategiaMovimiento.mover(this, deltaTime);
         }
@@ -3,143 +3,613 @@ package com.mygame.rain.managers;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.mygame.rain.entities.GameObject;
+import com.mygame.rain.entities.MascaraAlfa;
+import com.mygame.rain.interfaces.Collectable;
 
+/**
+ * Registro unico de entidades. Cada objeto se registra una sola vez con sus
+ * capacidades (COLLECTABLE, RENDERABLE, MOVABLE) y tick() hace en una sola
+ * pasada la actualizacion, la recoleccion y la limpieza de todo el registro.
+ *
+ * Fuera del registro las entidades se identifican con handles: un int con
+ * el indice de su ranura (20 bits) y la generacion de la ranura (12 bits).
+ * get(handle) es O(1) y devuelve null si la entidad ya se libero, aunque la
+ * ranura se haya reutilizado. Asi el arreglo denso se puede compactar o
+ * reciclar sin dejar referencias colgando, y las colas son IntArray.
+ */
 public class GameObjectManager {
+
+    // CAPACIDADES
+    public static final int COLLECTABLE = 1;
+    public static final int RENDERABLE = 1 << 1;
+    public static final int MOVABLE = 1 << 2;
+
+    // HANDLES
+    public static final int HANDLE_NULO = -1;
+    private static final int BITS_INDICE = 20;
+    private static final int MASCARA_INDICE = (1 << BITS_INDICE) - 1;
+    private static final int MASCARA_GENERACION = (1 << (32 - BITS_INDICE)) - 1;
+    // la ultima ranura no se usa: su handle con generacion maxima seria HANDLE_NULO
+    private static final int MAX_RANURAS = MASCARA_INDICE;
+    // marca interna en flags para las bajas de processPendingChanges
+    private static final int BAJA_PENDIENTE = 1 << 30;
+
+    // Registro denso (se compacta en cada tick) y ranura de cada objeto
     private final Array<GameObject> gameObjects;
-    private final Array<GameObject> objectsToAdd;
-    private final Array<GameObject> objectsToRemove;
-    
+    private final IntArray flags;
+    private final IntArray ranuras;
+
+    // Ranuras: objeto, generacion y posicion en el registro denso (-1 = alta pendiente)
+    private GameObject[] objetoEnRanura = new GameObject[64];
+    private int[] generacion = new int[64];
+    private int[] densoDeRanura = new int[64];
+    private int ranurasUsadas;
+    private final IntArray ranurasLibres = new IntArray();
+    // descartadas en este tick: sus handles siguen validos hasta el siguiente
+    private final IntArray ranurasPorLiberar = new IntArray();
+
+    // Colas de altas y bajas (handles)
+    private final IntArray altasPendientes;
+    private final IntArray flagsAltas;
+    private final IntArray bajasPendientes;
+    private int tick;
+
+    // Limites del mundo para la limpieza en tick() (sin limites por defecto)
+    private boolean hasWorldBounds;
+    private float worldMinX, worldMaxX, worldMinY, worldMaxY;
+
+    // Region con actualizacion completa; fuera de ella 1 de cada 'divisor' ticks
+    private final Rectangle activeRegion = new Rectangle();
+    private boolean hasActiveRegion;
+    private int divisor = 1;
+
+    // Scratch de tick()/collectInArea(s): un resultado por colector, reutilizado
+    private final Array<CollectionResult> resultadosPorColector;
+    private final Array<CollectionResult> resultados;
+    private final IntArray removedOutOfBounds;
+
+    // Pares superpuestos entre objetos del registro (fusion de gotas)
+    private final BarridoEjeX barrido = new BarridoEjeX();
+
     public GameObjectManager() {
-        this.gameObjects = new Array<>();
-        this.objectsToAdd = new Array<>();
-        this.objectsToRemove = new Array<>();
+        // Respaldado por GameObject[] para recorrer 'items' sin casts
+        this.gameObjects = new Array<>(true, 64, GameObject.class);
+        this.flags = new IntArray();
+        this.ranuras = new IntArray();
+        this.altasPendientes = new IntArray();
+        this.flagsAltas = new IntArray();
+        this.bajasPendientes = new IntArray();
+        this.resultadosPorColector = new Array<>();
+        this.resultados = new Array<>();
+        this.removedOutOfBounds = new IntArray();
+    }
+
+    /**
+     * Registra el objeto; las capacidades se deducen de su tipo
+     * (RENDERABLE | MOVABLE, mas COLLECTABLE si implementa Collectable).
+     *
+     * @return handle del objeto, valido desde ya (el alta al registro denso
+     *         se aplica al inicio del siguiente tick/updateAll)
+     */
+    public int addGameObject(GameObject obj) {
+        int capacidades = RENDERABLE | MOVABLE;
+        if (obj instanceof Collectable) {
+            capacidades |= COLLECTABLE;
+        }
+        return addGameObject(obj, capacidades);
     }
-    
-    public void addGameObject(GameObject obj) {
+
+    public int addGameObject(GameObject obj, int capacidades) {
         if (obj == null) {
             throw new IllegalArgumentException("GameObject no puede ser null");
         }
-        objectsToAdd.add(obj);
+        if ((capacidades & COLLECTABLE) != 0 && !(obj instanceof Collectable)) {
+            throw new IllegalArgumentException("Solo un Collectable puede tener la capacidad COLLECTABLE");
+        }
+        int handle = reservarRanura(obj);
+        altasPendientes.add(handle);
+        flagsAltas.add(capacidades);
+        return handle;
     }
-    
 
+    /**
+     * Quita la entidad del registro en el siguiente tick/updateAll. Un
+     * handle invalido se ignora.
+     */
+    public void removeGameObject(int handle) {
+        if (get(handle) != null) {
+            bajasPendientes.add(handle);
+        }
+    }
+
+    /**
+     * Igual que removeGameObject(int) pero buscando el objeto (O(n)).
+     */
     public void removeGameObject(GameObject obj) {
-        if (obj != null) {
-            objectsToRemove.add(obj);
+        if (obj == null) return;
+        for (int r = 0; r < ranurasUsadas; r++) {
+            if (objetoEnRanura[r] == obj) {
+                removeGameObject(handleDe(r));
+                return;
+            }
         }
     }
-    
 
-    public void updateAll(float deltaTime) {
+    // ===== HANDLES =====
+
+    /**
+     * Entidad del handle, o null si ya se libero (o nunca existio). O(1).
+     * Las entidades descartadas por un tick siguen accesibles hasta el
+     * siguiente tick, para leer los resultados de recoleccion y salidas.
+     */
+    public GameObject get(int handle) {
+        int r = handle & MASCARA_INDICE;
+        if (handle == HANDLE_NULO || r >= ranurasUsadas) return null;
+        if (generacion[r] != handle >>> BITS_INDICE) return null;
+        return objetoEnRanura[r];
+    }
+
+    public boolean isValid(int handle) {
+        return get(handle) != null;
+    }
+
+    /**
+     * Handle del objeto en la posicion 'indice' del registro denso.
+     */
+    public int getHandle(int indice) {
+        return handleDe(ranuras.get(indice));
+    }
+
+    private int handleDe(int ranura) {
+        return (generacion[ranura] << BITS_INDICE) | ranura;
+    }
+
+    private int reservarRanura(GameObject obj) {
+        int r;
+        if (ranurasLibres.size > 0) {
+            r = ranurasLibres.pop();
+        } else {
+            if (ranurasUsadas == MAX_RANURAS) {
+                throw new IllegalStateException("Se agotaron las ranuras de entidades (" + MAX_RANURAS + ")");
+            }
+            r = ranurasUsadas++;
+            if (r == objetoEnRanura.length) {
+                int capacidad = Math.min(MAX_RANURAS, r * 2);
+                GameObject[] objetos = new GameObject[capacidad];
+                System.arraycopy(objetoEnRanura, 0, objetos, 0, r);
+                objetoEnRanura = objetos;
+                int[] generaciones = new int[capacidad];
+                System.arraycopy(generacion, 0, generaciones, 0, r);
+                generacion = generaciones;
+                int[] densos = new int[capacidad];
+                System.arraycopy(densoDeRanura, 0, densos, 0, r);
+                densoDeRanura = densos;
+            }
+        }
+        objetoEnRanura[r] = obj;
+        densoDeRanura[r] = -1;
+        return handleDe(r);
+    }
+
+    // la generacion avanza: los handles viejos de la ranura dejan de resolver
+    private void liberarRanura(int r) {
+        objetoEnRanura[r] = null;
+        densoDeRanura[r] = -1;
+        generacion[r] = (generacion[r] + 1) & MASCARA_GENERACION;
+        ranurasLibres.add(r);
+    }
+
+    // ===== CONFIGURACION DEL TICK =====
+
+    /**
+     * Los objetos que salen de estos limites se desactivan y descartan en tick().
+     */
+    public void setWorldBounds(float minX, float maxX, float minY, float maxY) {
+        this.worldMinX = minX;
+        this.worldMaxX = maxX;
+        this.worldMinY = minY;
+        this.worldMaxY = maxY;
+        this.hasWorldBounds = true;
+    }
+
+    /**
+     * Region actualizada a frecuencia completa (null = todo). Fuera de ella los
+     * objetos se actualizan 1 de cada 'divisor' ticks con el delta escalado.
+     */
+    public void setActiveRegion(Rectangle region, int divisor) {
+        if (region == null || divisor <= 1) {
+            hasActiveRegion = false;
+            this.divisor = 1;
+        } else {
+            activeRegion.set(region);
+            hasActiveRegion = true;
+            this.divisor = divisor;
+        }
+    }
+
+    // ===== TICK EN UNA PASADA =====
+
+    /**
+     * Un tick completo en una sola pasada sobre el registro. Por cada objeto:
+     * descarta los inactivos, actualiza los MOVABLE, resuelve la recoleccion
+     * de los COLLECTABLE contra todos los colectores y descarta los que
+     * salieron del mundo. Los supervivientes se compactan en el mismo ciclo.
+     *
+     * Si un item toca mas de un colector gana el de mayor area de contacto y,
+     * en empate, el de menor indice.
+     *
+     * @param collectors rectangulos de los colectores (puede ser null o vacio)
+     * @return un resultado por colector, en el mismo orden que collectors;
+     *         se reutilizan (arreglo incluido) en la siguiente recoleccion
+     */
+    public Array<CollectionResult> tick(float deltaTime, Array<Rectangle> collectors) {
+        return tick(deltaTime, collectors, null);
+    }
+
+    /**
+     * Igual que tick(float, Array), con una mascara por colector (mismo
+     * orden; null o elementos null = solo AABB). Un item con mascara solo
+     * se recoge si ademas de los AABB se tocan los pixeles opacos.
+     */
+    public Array<CollectionResult> tick(float deltaTime, Array<Rectangle> collectors,
+                                        Array<MascaraAlfa> collectorMasks) {
         processPendingChanges();
-        
-        for (GameObject obj : gameObjects) {
+        tick++;
+        removedOutOfBounds.clear();
+
+        int numCollectors = collectors == null ? 0 : collectors.size;
+        float cMinX = Float.MAX_VALUE, cMinY = Float.MAX_VALUE;
+        float cMaxX = -Float.MAX_VALUE, cMaxY = -Float.MAX_VALUE;
+        for (int c = 0; c < numCollectors; c++) {
+            Rectangle r = collectors.get(c);
+            if (r == null) {
+                throw new IllegalArgumentException("Bounds no pueden ser null");
+            }
+            cMinX = Math.min(cMinX, r.x);
+            cMinY = Math.min(cMinY, r.y);
+            cMaxX = Math.max(cMaxX, r.x + r.width);
+            cMaxY = Math.max(cMaxY, r.y + r.height);
+            prepararColector(c);
+        }
+
+        GameObject[] objetos = gameObjects.items;
+        int[] capacidades = flags.items;
+        int[] ranurasDensas = ranuras.items;
+        int total = gameObjects.size;
+        int escritura = 0;
+
+        for (int i = 0; i < total; i++) {
+            GameObject obj = objetos[i];
+            int f = capacidades[i];
+
+            if (obj.isActive() && (f & MOVABLE) != 0) {
+                if (!hasActiveRegion || obj.overlaps(activeRegion)) {
+                    obj.update(deltaTime);
+                } else if ((tick + ranurasDensas[i]) % divisor == 0) {
+                    // fase por ranura: estable aunque la compactacion mueva el indice denso
+                    obj.update(deltaTime * divisor);
+                }
+            }
+
+            if (obj.isActive() && (f & COLLECTABLE) != 0 && numCollectors > 0
+                    && obj.overlaps(cMinX, cMinY, cMaxX - cMinX, cMaxY - cMinY)) {
+                recolectar((Collectable) obj, obj, ranurasDensas[i], collectors, collectorMasks);
+            }
+
+            if (obj.isActive() && hasWorldBounds
+                    && obj.isOutOfBounds(worldMinX, worldMaxX, worldMinY, worldMaxY)) {
+                obj.setActive(false);
+                removedOutOfBounds.add(handleDe(ranurasDensas[i]));
+            }
+
+            int r = ranurasDensas[i];
             if (obj.isActive()) {
+                objetos[escritura] = obj;
+                capacidades[escritura] = f;
+                ranurasDensas[escritura] = r;
+                densoDeRanura[r] = escritura;
+                escritura++;
+            } else {
+                densoDeRanura[r] = -1;
+                ranurasPorLiberar.add(r);
+            }
+        }
+
+        gameObjects.truncate(escritura);
+        flags.size = escritura;
+        ranuras.size = escritura;
+
+        return construirResultados(numCollectors);
+    }
+
+    /**
+     * Handles de los objetos que el ultimo tick() descarto por salir del
+     * mundo (para salpicaduras, etc.). Validos hasta el siguiente tick().
+     */
+    public IntArray getRemovedOutOfBounds() {
+        return removedOutOfBounds;
+    }
+
+    // ===== OPERACIONES SUELTAS =====
+
+    public void updateAll(float deltaTime) {
+        processPendingChanges();
+
+        for (int i = 0; i < gameObjects.size; i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isActive() && (flags.get(i) & MOVABLE) != 0) {
                 obj.update(deltaTime);
             }
         }
     }
-    
+
     /**
      * Renderiza todos los objetos activos
      */
     public void renderAll(SpriteBatch batch) {
-        for (GameObject obj : gameObjects) {
-            if (obj.isActive()) {
+        for (int i = 0; i < gameObjects.size; i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isActive() && (flags.get(i) & RENDERABLE) != 0) {
+                obj.render(batch);
+            }
+        }
+    }
+
+    /**
+     * Renderiza solo los objetos activos que tocan la vista de la camara.
+     */
+    public void renderAll(SpriteBatch batch, Rectangle vista) {
+        for (int i = 0; i < gameObjects.size; i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isActive() && (flags.get(i) & RENDERABLE) != 0 && obj.overlaps(vista)) {
                 obj.render(batch);
             }
         }
     }
-    
+
 
     public GameObject findCollision(Rectangle bounds) {
         if (bounds == null) {
             return null;
         }
-        
+
         for (GameObject obj : gameObjects) {
-            if (obj.isActive() && obj.collidesWith(createTempObject(bounds))) {
+            if (obj.isActive() && obj.overlaps(bounds)) {
                 return obj;
             }
         }
         return null;
     }
-    
+
 
     public Array<GameObject> findAllCollisions(Rectangle bounds) {
-        Array<GameObject> collisions = new Array<>();
-        
+        return findAllCollisions(bounds, new Array<GameObject>());
+    }
+
+    /**
+     * Igual que findAllCollisions(Rectangle) pero escribe en un arreglo del
+     * llamador, para consultas por frame sin crear objetos.
+     */
+    public Array<GameObject> findAllCollisions(Rectangle bounds, Array<GameObject> out) {
+        out.clear();
+
         if (bounds == null) {
-            return collisions;
+            return out;
         }
-        
+
         for (GameObject obj : gameObjects) {
-            if (obj.isActive() && obj.collidesWith(createTempObject(bounds))) {
-                collisions.add(obj);
+            if (obj.isActive() && obj.overlaps(bounds)) {
+                out.add(obj);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Recoleccion con un solo colector, sin actualizar ni limpiar. No
+     * reserva memoria: el resultado se reutiliza en la siguiente recoleccion.
+     */
+    public CollectionResult collectInArea(Rectangle collectorBounds) {
+        if (collectorBounds == null) {
+            throw new IllegalArgumentException("Bounds no pueden ser null");
+        }
+
+        prepararColector(0);
+        for (int i = 0; i < gameObjects.size; i++) {
+            GameObject obj = gameObjects.get(i);
+            if ((flags.get(i) & COLLECTABLE) == 0) continue;
+
+            Collectable item = (Collectable) obj;
+            if (item.isCollectable() && obj.overlaps(collectorBounds)) {
+                item.onCollect();
+                resultadosPorColector.get(0).agregar(getHandle(i));
             }
         }
-        return collisions;
+        return resultadosPorColector.get(0);
     }
-    
 
-    private GameObject createTempObject(Rectangle bounds) {
-        return new GameObject(bounds.x, bounds.y, bounds.width, bounds.height) {
-            @Override
-            public void update(float deltaTime) {}
-            
-            @Override
-            public void dispose() {}
-        };
+    /**
+     * Recoleccion para varios colectores en una sola pasada, sin actualizar
+     * ni limpiar (ver tick() para la version completa).
+     */
+    public Array<CollectionResult> collectInAreas(Array<Rectangle> collectors) {
+        if (collectors == null || collectors.size == 0) {
+            throw new IllegalArgumentException("Se necesita al menos un colector");
+        }
+
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int c = 0; c < collectors.size; c++) {
+            Rectangle r = collectors.get(c);
+            if (r == null) {
+                throw new IllegalArgumentException("Bounds no pueden ser null");
+            }
+            minX = Math.min(minX, r.x);
+            minY = Math.min(minY, r.y);
+            maxX = Math.max(maxX, r.x + r.width);
+            maxY = Math.max(maxY, r.y + r.height);
+            prepararColector(c);
+        }
+
+        for (int i = 0; i < gameObjects.size; i++) {
+            GameObject obj = gameObjects.get(i);
+            if ((flags.get(i) & COLLECTABLE) == 0 || !obj.overlaps(minX, minY, maxX - minX, maxY - minY)) continue;
+            recolectar((Collectable) obj, obj, ranuras.get(i), collectors, null);
+        }
+        return construirResultados(collectors.size);
     }
-    
+
 
     public int removeOutOfBounds(float minX, float maxX, float minY, float maxY) {
+        return removeOutOfBounds(minX, maxX, minY, maxY, null);
+    }
+
+    /**
+     * Igual que removeOutOfBounds, pero agrega a 'removed' (si no es null)
+     * los handles de los objetos que salieron, por ejemplo para dibujar una
+     * salpicadura. Los objetos que salen quedan inactivos.
+     */
+    public int removeOutOfBounds(float minX, float maxX, float minY, float maxY, IntArray removed) {
         int removedCount = 0;
-        
-        for (GameObject obj : gameObjects) {
-            if (obj.isOutOfBounds(minX, maxX, minY, maxY)) {
-                removeGameObject(obj);
+
+        for (int i = 0; i < gameObjects.size; i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isActive() && obj.isOutOfBounds(minX, maxX, minY, maxY)) {
+                obj.setActive(false);
+                int handle = getHandle(i);
+                removeGameObject(handle);
+                if (removed != null) removed.add(handle);
                 removedCount++;
             }
         }
-        
+
         return removedCount;
     }
-    
+
 
     public int removeInactive() {
         int removedCount = 0;
-        
-        for (GameObject obj : gameObjects) {
-            if (!obj.isActive()) {
-                removeGameObject(obj);
+
+        for (int i = 0; i < gameObjects.size; i++) {
+            if (!gameObjects.get(i).isActive()) {
+                removeGameObject(getHandle(i));
                 removedCount++;
             }
         }
-        
+
         return removedCount;
     }
-    
+
+    private void recolectar(Collectable item, GameObject obj, int ranura, Array<Rectangle> collectors,
+                            Array<MascaraAlfa> masks) {
+        if (!item.isCollectable()) return;
+
+        int ganador = -1;
+        float mejorArea = 0;
+        for (int c = 0; c < collectors.size; c++) {
+            Rectangle r = collectors.get(c);
+            float area = areaContacto(obj, r);
+            // fase fina solo si el AABB toca y este colector ganaria
+            if (area > mejorArea && (masks == null || c >= masks.size
+                    || obj.collidesWithMask(masks.get(c), r.x, r.y))) {
+                mejorArea = area;
+                ganador = c;
+            }
+        }
+
+        if (ganador >= 0) {
+            item.onCollect();
+            resultadosPorColector.get(ganador).agregar(handleDe(ranura));
+        }
+    }
+
+    private static float areaContacto(GameObject obj, Rectangle r) {
+        float ancho = Math.min(obj.getMaxX(), r.x + r.width) - Math.max(obj.getMinX(), r.x);
+        float alto = Math.min(obj.getMaxY(), r.y + r.height) - Math.max(obj.getMinY(), r.y);
+        return ancho > 0 && alto > 0 ? ancho * alto : 0;
+    }
+
+    private void prepararColector(int c) {
+        while (resultadosPorColector.size <= c) {
+            resultadosPorColector.add(new CollectionResult());
+        }
+        resultadosPorColector.get(c).limpiar();
+    }
+
+    private Array<CollectionResult> construirResultados(int numCollectors) {
+        resultados.clear();
+        for (int c = 0; c < numCollectors; c++) {
+            resultados.add(resultadosPorColector.get(c));
+        }
+        return resultados;
+    }
+
     private void processPendingChanges() {
-        if (objectsToAdd.size > 0) {
-            gameObjects.addAll(objectsToAdd);
-            objectsToAdd.clear();
+        // lo descartado en el tick anterior deja de resolver desde aqui
+        for (int k = 0; k < ranurasPorLiberar.size; k++) {
+            liberarRanura(ranurasPorLiberar.get(k));
         }
-        
-        if (objectsToRemove.size > 0) {
-            gameObjects.removeAll(objectsToRemove, true);
-            objectsToRemove.clear();
+        ranurasPorLiberar.clear();
+
+        for (int k = 0; k < altasPendientes.size; k++) {
+            int r = altasPendientes.get(k) & MASCARA_INDICE;
+            densoDeRanura[r] = gameObjects.size;
+            gameObjects.add(objetoEnRanura[r]);
+            flags.add(flagsAltas.get(k));
+            ranuras.add(r);
+        }
+        altasPendientes.clear();
+        flagsAltas.clear();
+
+        if (bajasPendientes.size > 0) {
+            boolean hayBajas = false;
+            for (int k = 0; k < bajasPendientes.size; k++) {
+                int handle = bajasPendientes.get(k);
+                if (get(handle) == null) continue;
+                int d = densoDeRanura[handle & MASCARA_INDICE];
+                if (d >= 0) {
+                    flags.items[d] |= BAJA_PENDIENTE;
+                    hayBajas = true;
+                }
+            }
+            bajasPendientes.clear();
+            if (hayBajas) compactarBajas();
         }
     }
-    
+
+    // quita las marcadas sin cambiar el orden del resto
+    private void compactarBajas() {
+        GameObject[] objetos = gameObjects.items;
+        int[] capacidades = flags.items;
+        int[] ranurasDensas = ranuras.items;
+        int escritura = 0;
+        for (int i = 0; i < gameObjects.size; i++) {
+            int r = ranurasDensas[i];
+            if ((capacidades[i] & BAJA_PENDIENTE) != 0) {
+                densoDeRanura[r] = -1;
+                ranurasPorLiberar.add(r);
+                continue;
+            }
+            objetos[escritura] = objetos[i];
+            capacidades[escritura] = capacidades[i];
+            ranurasDensas[escritura] = r;
+            densoDeRanura[r] = escritura;
+            escritura++;
+        }
+        gameObjects.truncate(escritura);
+        flags.size = escritura;
+        ranuras.size = escritura;
+    }
+
 
     public Array<GameObject> getGameObjects() {
         Array<GameObject> copy = new Array<>();
         copy.addAll(gameObjects);
         return copy;
     }
-    
+
 
     public int getActiveCount() {
         int count = 0;
@@ -150,24 +620,103 @@ public class GameObjectManager {
         }
         return count;
     }
-    
+
 
     public int getTotalCount() {
         return gameObjects.size;
     }
-    
+
+    /**
+     * Objeto registrado en la posicion 'indice' (0..getTotalCount()-1), para
+     * recorrer el registro sin la copia de getGameObjects().
+     */
+    public GameObject getGameObject(int indice) {
+        return gameObjects.get(indice);
+    }
+
+    /**
+     * Pares (i, j) de objetos activos del registro cuyos AABB se superponen,
+     * como indices para getGameObject(); validos hasta el siguiente tick().
+     * Barrido en X: O(n log n) con densidad acotada (ver BarridoEjeX).
+     */
+    public int findOverlappingPairs(IntArray pares) {
+        return barrido.buscarPares(gameObjects.items, gameObjects.size, pares);
+    }
+
+    /**
+     * Cantidad de objetos registrados con todas las capacidades indicadas.
+     */
+    public int getCountWith(int capacidades) {
+        int count = 0;
+        for (int i = 0; i < flags.size; i++) {
+            if ((flags.get(i) & capacidades) == capacidades) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Altas y bajas aun no aplicadas (se aplican al inicio de tick/updateAll).
+     */
+    public int getPendingCount() {
+        return altasPendientes.size + bajasPendientes.size;
+    }
+
 
     public void clear() {
         for (GameObject obj : gameObjects) {
             obj.dispose();
         }
+        // todos los handles dejan de resolver, tambien los de altas pendientes
+        for (int r = 0; r < ranurasUsadas; r++) {
+            if (objetoEnRanura[r] != null) liberarRanura(r);
+        }
         gameObjects.clear();
-        objectsToAdd.clear();
-        objectsToRemove.clear();
+        flags.clear();
+        ranuras.clear();
+        altasPendientes.clear();
+        flagsAltas.clear();
+        bajasPendientes.clear();
+        ranurasPorLiberar.clear();
+        removedOutOfBounds.clear();
     }
-    
+
 
     public void dispose() {
         clear();
     }
+
+
+    /**
+     * Items recogidos por un colector, como handles (resolver con get();
+     * validos hasta el siguiente tick()). Los que devuelve el manager se
+     * reutilizan en la siguiente recoleccion.
+     */
+    public static class CollectionResult {
+        private final IntArray collectedHandles = new IntArray();
+
+        CollectionResult() {}
+
+        public CollectionResult(int items, IntArray collected) {
+            collectedHandles.addAll(collected, 0, items);
+        }
+
+        void limpiar() { collectedHandles.clear(); }
+
+        void agregar(int handle) { collectedHandles.add(handle); }
+
+        public int getItemsCollected() { return collectedHandles.size; }
+
+        public int getCollectedHandle(int i) {
+            return collectedHandles.get(i);
+        }
+
+        /**
+         * Handles recogidos, sin copiar: no modificar.
+         */
+        public IntArray getCollectedHandles() {
+            return collectedHandles;
+        }
+    }
 }
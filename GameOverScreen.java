@@ -1,24 +1,47 @@
 package puppy.code;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
 
 public class GameOverScreen implements Screen {
 	private final GameLluviaMenu game;
 	private SpriteBatch batch;	   
 	private BitmapFont font;
 	private OrthographicCamera camera;
+	private Viewport viewport;
+
+	// solo cuenta un toque que empieza en esta pantalla: si el jugador
+	// sigue arrastrando el tarro al perder la ultima vida no salta de pantalla
+	private boolean tocado;
+	private boolean reiniciar;
+	private final InputAdapter entrada = new InputAdapter() {
+		@Override
+		public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+			tocado = true;
+			return true;
+		}
+
+		@Override
+		public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+			if (tocado) reiniciar = true;
+			return true;
+		}
+	};
 
 	public GameOverScreen(final GameLluviaMenu game) {
 		this.game = game;
         this.batch = game.getBatch();
         this.font = game.getFont();
 		camera = new OrthographicCamera();
-		camera.setToOrtho(false, 800, 480);
+		ConfiguracionMundo configuracion = game.getConfiguracion();
+		camera.setToOrtho(false, configuracion.getAnchoVista(), configuracion.getAltoVista());
+		viewport = configuracion.crearViewport(camera);
 	}
 
 	@Override
@@ -32,7 +55,7 @@ public class GameOverScreen implements Screen {
 		font.draw(batch, "Toca en cualquier lado para reiniciar.", 100, 100);
 		batch.end();
 
-		if (Gdx.input.isTouched()) {
+		if (reiniciar) {
 			game.setScreen(new GameScreen(game));
 			dispose();
 		}
@@ -40,14 +63,16 @@ public class GameOverScreen implements Screen {
 
 	@Override
 	public void show() {
-		// TODO Auto-generated method stub
-		
+		tocado = false;
+		reiniciar = false;
+		Gdx.input.setInputProcessor(entrada);
+		PoliticaRender.ESTATICA.aplicar();
 	}
 
 	@Override
 	public void resize(int width, int height) {
-		// TODO Auto-generated method stub
-		
+		viewport.update(width, height, true);
+		PoliticaRender.ESTATICA.redibujar();
 	}
 
 	@Override
@@ -64,8 +89,8 @@ public class GameOverScreen implements Screen {
 
 	@Override
 	public void hide() {
-		// TODO Auto-generated method stub
-		
+		Gdx.input.setInputProcessor(null);
+		PoliticaRender.ESTATICA.detener();
 	}
 
 	@Override
@@ -1,118 +1,407 @@
 package puppy.code;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.mygame.rain.diagnostico.GobernadorCalidad;
+import com.mygame.rain.diagnostico.MedidorLatencia;
+import com.mygame.rain.diagnostico.PerfilTexturas;
+import com.mygame.rain.effects.SistemaParticulas;
+import com.mygame.rain.input.EntradaCombinada;
+import com.mygame.rain.input.EntradaTactil;
+import com.mygame.rain.input.EntradaTeclado;
+import com.mygame.rain.input.FrameEntrada;
+import com.mygame.rain.input.SistemaEntrada;
+import com.mygame.rain.nivel.Nivel;
+import com.mygame.rain.recursos.Recursos;
 
 public class GameScreen implements Screen {
+	private static final String ARCHIVO_PARTIDA = "partida.sav";
+
 	final GameLluviaMenu game;
     private OrthographicCamera camera;
+    private OrthographicCamera hudCamera;
+    private Viewport viewport;
+    private final ConfiguracionMundo configuracion;
+    private final Rectangle regionVisible = new Rectangle();
 	private SpriteBatch batch;	   
 	private BitmapFont font;
 	private Tarro tarro;
 	private Lluvia lluvia;
-	private Texture fondo;
+	// texturas como regiones del atlas; -Dlluvia.sinAtlas=true carga los png sueltos
+	private final Recursos recursos;
+	private TextureRegion fondo;
+	private Hud hud;
+	private SistemaParticulas particulas;
+	private SistemaEntrada entrada;
+	// una sola pantalla de pausa, reutilizada en cada pausa
+	private PausaScreen pausa;
+	// el primer frame tras volver de la pausa no simula mas de esto
+	private static final float DELTA_MAXIMO_AL_CONTINUAR = 1f / 30f;
+	private boolean continuando;
+	// -Dlluvia.latencia=true activa la medicion entrada-imagen
+	private final MedidorLatencia medidorLatencia =
+			Boolean.getBoolean("lluvia.latencia") ? new MedidorLatencia() : null;
+	// -Dlluvia.perfilTexturas=true cuenta binds de textura y llamadas de dibujo por cuadro
+	private final PerfilTexturas perfilTexturas =
+			Boolean.getBoolean("lluvia.perfilTexturas") ? new PerfilTexturas(Gdx.graphics) : null;
+	// calidad adaptativa; -Dlluvia.protegerRendimiento=true permite limitar la densidad de gotas
+	private final GobernadorCalidad gobernador =
+			new GobernadorCalidad(1000f / 60f, Boolean.getBoolean("lluvia.protegerRendimiento"));
+	// -Dlluvia.hiloSimulacion=true simula en un hilo propio a 60 ticks/s (ver HiloSimulacion)
+	private static final boolean CON_HILO_SIMULACION = Boolean.getBoolean("lluvia.hiloSimulacion");
+	// -Dlluvia.fusionGotas=true une las gotas superpuestas del mismo tipo
+	private static final boolean CON_FUSION_GOTAS = Boolean.getBoolean("lluvia.fusionGotas");
+	// techos y paraguas; -Dlluvia.sinObstaculos=true juega sin ellos
+	private final Nivel nivel;
+	private TextureRegion pixel;
+	private HiloSimulacion hiloSimulacion;
+	private SonidoEnCola sonidoHeridoEnCola;
+	private SonidoEnCola sonidoGotaEnCola;
+	// tras terminarPartida() la pantalla ya esta liberada: no se toca nada mas
+	private boolean partidaTerminada;
 
 	   
 	//boolean activo = true;
 
 	public GameScreen(final GameLluviaMenu game) {
+		this(game, null);
+	}
+
+	/**
+	 * Crea la pantalla y, si se entrega una instantanea, continua desde ella.
+	 */
+	public GameScreen(final GameLluviaMenu game, SnapshotPartida partida) {
 		this.game = game;
         this.batch = game.getBatch();
         this.font = game.getFont();
+        this.configuracion = game.getConfiguracion();
 		  // load the images for the droplet and the bucket, 64x64 pixels each 	     
 		  Sound hurtSound = Gdx.audio.newSound(Gdx.files.internal("hurt.ogg"));
-		  tarro = new Tarro(new Texture(Gdx.files.internal("bucket.png")),hurtSound);
+		  if (CON_HILO_SIMULACION) {
+			  // el hilo de simulacion no reproduce; el render lo hace cada frame
+			  hurtSound = sonidoHeridoEnCola = new SonidoEnCola(hurtSound);
+		  }
+		  recursos = Recursos.cargar(!Boolean.getBoolean("lluvia.sinAtlas"));
+		  Gdx.app.log("Texturas", recursos.getReporte());
+		  tarro = new Tarro(recursos.getRegion(Recursos.TARRO),hurtSound, configuracion);
          
 	      // load the drop sound effect and the rain background "music" 
-         Texture gota = new Texture(Gdx.files.internal("drop.png"));
-         Texture gotaMala = new Texture(Gdx.files.internal("dropBad.png"));
-         Texture gotaLimpieza = new Texture(Gdx.files.internal("poder.png"));
-         Texture gotaMaldicion = new Texture(Gdx.files.internal("gotaMaligna.png"));
+         TextureRegion gota = recursos.getRegion(Recursos.GOTA);
+         TextureRegion gotaMala = recursos.getRegion(Recursos.GOTA_MALA);
+         TextureRegion gotaLimpieza = recursos.getRegion(Recursos.GOTA_LIMPIEZA);
+         TextureRegion gotaMaldicion = recursos.getRegion(Recursos.GOTA_MALDICION);
          
-         fondo = new Texture(Gdx.files.internal("fondo.png"));
+         fondo = recursos.getRegion(Recursos.FONDO);
+         pixel = recursos.getRegion(Recursos.PIXEL);
+         nivel = Boolean.getBoolean("lluvia.sinObstaculos") ? Nivel.vacio()
+        		 : Nivel.porDefecto(configuracion.getAnchoMundo(), configuracion.getAltoMundo());
          Sound dropSound = Gdx.audio.newSound(Gdx.files.internal("drop.wav"));
+         if (CON_HILO_SIMULACION) {
+        	 dropSound = sonidoGotaEnCola = new SonidoEnCola(dropSound);
+         }
         
 	     Music rainMusic = Gdx.audio.newMusic(Gdx.files.internal("rain.mp3"));
-         lluvia = new Lluvia(gota, gotaMala,gotaLimpieza,gotaMaldicion, dropSound, rainMusic);
+         // dispose() llama a lluvia.destruir(), que deja libre la instancia para la proxima partida
+         lluvia = Lluvia.getInstance(gota, gotaMala, gotaLimpieza, gotaMaldicion, dropSound, rainMusic);
+         lluvia.setConfiguracion(configuracion);
+         // mascaras de colision exacta, calculadas una vez por textura
+         tarro.setMascara(recursos.mascara(Recursos.TARRO, 64, 64));
+         lluvia.setMascaras(recursos.mascara(Recursos.GOTA, 64, 64),
+        		 recursos.mascara(Recursos.GOTA_MALA, 64, 64),
+        		 recursos.mascara(Recursos.GOTA_LIMPIEZA, 64, 64),
+        		 recursos.mascara(Recursos.GOTA_MALDICION, 64, 64));
+         recursos.liberarPixmaps();
+         // particulas con el pixel blanco de Recursos: en el mismo lote que las gotas
+         particulas = new SistemaParticulas(4096, 512, pixel);
+         lluvia.setParticulas(particulas);
 	      
-	      // camera
+	      // camera del mundo (sigue al tarro si el mundo es mas grande que la vista)
 	      camera = new OrthographicCamera();
-	      camera.setToOrtho(false, 800, 480);
+	      camera.setToOrtho(false, configuracion.getAnchoVista(), configuracion.getAltoVista());
+	      viewport = configuracion.crearViewport(camera);
+	      // camara fija para el HUD
+	      hudCamera = new OrthographicCamera();
+	      hudCamera.setToOrtho(false, configuracion.getAnchoVista(), configuracion.getAltoVista());
 	      batch = new SpriteBatch();
+	      hud = new Hud(font, hudCamera.viewportWidth, hudCamera.viewportHeight);
+	      // entrada: teclado + arrastre, muestreada una vez por frame
+	      entrada = new SistemaEntrada(new EntradaCombinada(new EntradaTeclado(), new EntradaTactil(viewport)));
 	      // creacion del tarro
 	      tarro.crear();
 	      
-	      // creacion de la lluvia
+	      // creacion de la lluvia (con rafagas, remolinos y corrientes de viento)
+	      lluvia.setClimaActivo(true);
+	      lluvia.setFusionGotas(CON_FUSION_GOTAS);
+	      lluvia.setObstaculos(nivel.getJerarquia());
 	      lluvia.crear();
+
+	      if (partida != null) {
+	    	  // si la partida resulta corrupta se vuelve a este estado inicial
+	    	  SnapshotPartida inicial = SnapshotPartida.capturar(lluvia, tarro);
+	    	  try {
+	    		  partida.restaurar(lluvia, tarro);
+	    	  } catch (GdxRuntimeException | IllegalArgumentException e) {
+	    		  descartarPartidaGuardada(e);
+	    		  inicial.restaurar(lluvia, tarro);
+	    	  }
+	      }
+
+	      if (CON_HILO_SIMULACION) {
+	    	  hiloSimulacion = new HiloSimulacion(lluvia, tarro, particulas, 60);
+	      }
+	}
+
+	public static boolean hayPartidaGuardada() {
+		return archivoPartida().exists();
+	}
+
+	/**
+	 * Lee la partida guardada; si no se puede leer la borra y devuelve null
+	 * (se empieza una partida nueva en vez de fallar en cada inicio).
+	 */
+	public static SnapshotPartida cargarPartidaGuardada() {
+		try {
+			return SnapshotPartida.cargar(archivoPartida());
+		} catch (GdxRuntimeException | IllegalArgumentException e) {
+			descartarPartidaGuardada(e);
+			return null;
+		}
+	}
+
+	// partida truncada, corrupta o de otra version
+	private static void descartarPartidaGuardada(Exception causa) {
+		Gdx.app.error("Partida", "Partida guardada ilegible; se descarta y se empieza una nueva", causa);
+		archivoPartida().delete();
+	}
+
+	private static FileHandle archivoPartida() {
+		return Gdx.files.local(ARCHIVO_PARTIDA);
 	}
 
 	@Override
 	public void render(float delta) {
-		 if (Gdx.input.isKeyJustPressed(Input.Keys.P) || Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+		 FrameEntrada frame = entrada.muestrear();
+		 if (frame.isPausa()) {
 		
 		        pause();
 		        return;
 		 }
+		 if (frame.isAlternarEstadisticas()) {
+			 hud.setMostrarEstadisticas(!hud.isMostrarEstadisticas());
+		 }
+		long inicioFrame = TimeUtils.nanoTime();
+		if (continuando) {
+			delta = Math.min(delta, DELTA_MAXIMO_AL_CONTINUAR);
+			continuando = false;
+		}
+		if (hiloSimulacion != null) {
+			renderConHilo(frame);
+			if (partidaTerminada) return;
+			if (perfilTexturas != null) perfilTexturas.registrarCuadro();
+			registrarTiempoFrame(inicioFrame);
+			return;
+		}
 		//limpia la pantalla con color azul obscuro.
 		ScreenUtils.clear(0, 0, 0.2f, 1);
 		//actualizar matrices de la cÃ¡mara
+		seguirTarro(tarro.getArea().x);
 		camera.update();
+		lluvia.setRegionVisible(regionVisible);
 		//actualizar 
 		batch.setProjectionMatrix(camera.combined);
 		batch.begin();
-		batch.draw(fondo, 0, 0, 800, 480);
-		//dibujar textos
-		font.draw(batch, "Gotas totales: " + tarro.getPuntos(), 5, 475);
-		font.draw(batch, "Vidas : " + tarro.getVidas(), 670, 475);
-		font.draw(batch, "HighScore : " + game.getHigherScore(), camera.viewportWidth/2-50, 475);
+		batch.draw(fondo, 0, 0, configuracion.getAnchoMundo(), configuracion.getAltoMundo());
+		nivel.dibujar(batch, pixel);
 		
 		if (!tarro.estaHerido()) {
-			// movimiento del tarro desde teclado
-	        tarro.actualizarMovimiento();        
+			// movimiento del tarro segun la entrada del frame
+	        if (medidorLatencia != null) medidorLatencia.registrarConsumo(frame, TimeUtils.nanoTime());
+	        tarro.actualizarMovimiento(frame, delta);        
 			// caida de la lluvia 
-	       if (!lluvia.actualizarMovimiento(tarro)) {
-	    	  //actualizar HigherScore
-	    	  if (game.getHigherScore()<tarro.getPuntos())
-	    		  game.setHigherScore(tarro.getPuntos());  
-	    	  //ir a la ventana de finde juego y destruir la actual
-	    	  game.setScreen(new GameOverScreen(game));
-	    	  dispose();
+	       if (!lluvia.actualizarMovimiento(tarro, delta)) {
+	    	  // se cierra el batch antes de liberar la pantalla
+	    	  batch.end();
+	    	  terminarPartida(tarro.getPuntos());
+	    	  return;
 	       }
 		}
 		
 		tarro.dibujar(batch);
 		lluvia.actualizarDibujoLluvia(batch);
 		
+		//dibujar textos (solo se recomponen si cambian)
+		batch.setProjectionMatrix(hudCamera.combined);
+		hud.actualizar(tarro.getPuntos(), tarro.getVidas(), game.getHigherScore());
+		if (hud.isMostrarEstadisticas()) {
+			hud.actualizarEstadisticas(lluvia.getCantidadGotasActivas(),
+					lluvia.estaMaldicionActiva(), lluvia.getTiempoMaldicionRestante());
+		}
+		hud.dibujar(batch);
+		
+		batch.end();
+		// el frame se presenta al volver de render(); se toma el fin del batch como aproximacion
+		if (medidorLatencia != null) medidorLatencia.registrarPresentacion(entrada.getTick(), TimeUtils.nanoTime());
+		if (perfilTexturas != null) perfilTexturas.registrarCuadro();
+		registrarTiempoFrame(inicioFrame);
+	}
+
+	/**
+	 * Modo con hilo de simulacion: el render solo entrega la entrada y
+	 * dibuja la ultima instantanea publicada, sin tocar Lluvia ni Tarro.
+	 */
+	private void renderConHilo(FrameEntrada frame) {
+		hiloSimulacion.publicarEntrada(frame);
+		InstantaneaMundo inst = hiloSimulacion.tomarUltima();
+		if (inst.isTerminada()) {
+			terminarPartida(inst.getPuntos());
+			return;
+		}
+		sonidoGotaEnCola.reproducirPendientes();
+		sonidoHeridoEnCola.reproducirPendientes();
+
+		ScreenUtils.clear(0, 0, 0.2f, 1);
+		seguirTarro(inst.getTarroX());
+		camera.update();
+		batch.setProjectionMatrix(camera.combined);
+		batch.begin();
+		batch.draw(fondo, 0, 0, configuracion.getAnchoMundo(), configuracion.getAltoMundo());
+		nivel.dibujar(batch, pixel);
+		tarro.dibujarEn(batch, inst.getTarroX(), inst.getTarroY(), inst.isTarroHerido());
+		for (int i = 0; i < inst.getCantidad(); i++) {
+			float x = inst.getX(i);
+			float y = inst.getY(i);
+			float w = inst.getAncho(i);
+			float h = inst.getAlto(i);
+			if (x + w <= regionVisible.x || x >= regionVisible.x + regionVisible.width) continue;
+			batch.draw(lluvia.getRegionGota(inst.getTipo(i)), x, y, w, h);
+		}
+		if (inst.getParticulas() != null) inst.getParticulas().dibujar(batch);
+
+		batch.setProjectionMatrix(hudCamera.combined);
+		hud.actualizar(inst.getPuntos(), inst.getVidas(), game.getHigherScore());
+		if (hud.isMostrarEstadisticas()) {
+			hud.actualizarEstadisticas(inst.getCantidad(), inst.isMaldicion(), inst.getTiempoMaldicion());
+		}
+		hud.dibujar(batch);
 		batch.end();
+		if (medidorLatencia != null) {
+			if (inst.getTickEvento() >= 0) {
+				medidorLatencia.registrarConsumo(inst.getTickEvento(), inst.getTiempoEventoNanos(),
+						inst.getTiempoConsumoNanos());
+			}
+			medidorLatencia.registrarPresentacion(inst.getTickEntrada(), TimeUtils.nanoTime());
+		}
+	}
+
+	private void terminarPartida(int puntos) {
+		//actualizar HigherScore
+		if (game.getHigherScore() < puntos)
+			game.setHigherScore(puntos);
+		//la partida terminada ya no se puede continuar
+		archivoPartida().delete();
+		//ir a la ventana de finde juego y destruir la actual
+		game.setScreen(new GameOverScreen(game));
+		dispose();
+		partidaTerminada = true;
+	}
+
+	// se mide el trabajo del frame (sin la espera de vsync)
+	private void registrarTiempoFrame(long inicioFrame) {
+		if (gobernador.registrarFrame(TimeUtils.nanoTime() - inicioFrame)) {
+			aplicarCalidad();
+		}
+	}
+
+	private void aplicarCalidad() {
+		// con hilo, Lluvia y las particulas son del hilo de simulacion
+		if (hiloSimulacion != null) {
+			hiloSimulacion.publicarCalidad(gobernador.getFactorParticulas(), gobernador.getFactorDivisor(),
+					gobernador.getLimiteMultiplicadorGotas());
+			return;
+		}
+		particulas.setFactorCalidad(gobernador.getFactorParticulas());
+		lluvia.setFactorDivisor(gobernador.getFactorDivisor());
+		lluvia.setLimiteMultiplicadorGotas(gobernador.getLimiteMultiplicadorGotas());
+	}
+
+	/**
+	 * Dibuja la escena tal como esta, sin simular ni leer entrada. La usa
+	 * PausaScreen para capturar la imagen de fondo de la pausa.
+	 */
+	void dibujarEscena() {
+		ScreenUtils.clear(0, 0, 0.2f, 1);
+		batch.setProjectionMatrix(camera.combined);
+		batch.begin();
+		batch.draw(fondo, 0, 0, configuracion.getAnchoMundo(), configuracion.getAltoMundo());
+		nivel.dibujar(batch, pixel);
+		tarro.dibujarQuieto(batch);
+		lluvia.dibujarGotas(batch);
+		batch.setProjectionMatrix(hudCamera.combined);
+		hud.dibujar(batch);
+		batch.end();
+	}
+
+	/**
+	 * Centra la camara en el tarro (con su x en 'tarroX') sin salirse del
+	 * mundo y guarda la region visible.
+	 */
+	private void seguirTarro(float tarroX) {
+		float mitadAncho = camera.viewportWidth / 2;
+		float mitadAlto = camera.viewportHeight / 2;
+		camera.position.x = MathUtils.clamp(tarroX + tarro.getArea().width / 2,
+				mitadAncho, configuracion.getAnchoMundo() - mitadAncho);
+		camera.position.y = mitadAlto;
+		regionVisible.set(camera.position.x - mitadAncho, camera.position.y - mitadAlto,
+				camera.viewportWidth, camera.viewportHeight);
 	}
 
 	@Override
 	public void resize(int width, int height) {
+		viewport.update(width, height);
+		hudCamera.update();
 	}
 
 	@Override
 	public void show() {
+	  Gdx.input.setInputProcessor(entrada);
+	  PoliticaRender.JUEGO.aplicar();
 	  // continuar con sonido de lluvia
 	  lluvia.continuar();
+	  continuando = true;
+	  if (hiloSimulacion != null) hiloSimulacion.iniciar();
 	}
 
 	@Override
 	public void hide() {
-
+	  Gdx.input.setInputProcessor(null);
+	  if (hiloSimulacion != null) hiloSimulacion.detener();
 	}
 
 	@Override
 	public void pause() {
+		// con el hilo detenido Lluvia y Tarro vuelven a ser del render
+		if (hiloSimulacion != null) hiloSimulacion.detener();
 		lluvia.pausar();
-		game.setScreen(new PausaScreen(game, this)); 
+		// guardar al pausar para poder continuar tras cerrar el juego
+		SnapshotPartida.capturar(lluvia, tarro).guardar(archivoPartida());
+		if (pausa == null) {
+			pausa = new PausaScreen(game, this);
+		}
+		pausa.capturar();
+		game.setScreen(pausa);
 	}
 
 	@Override
@@ -122,9 +411,18 @@ public class GameScreen implements Screen {
 
 	@Override
 	public void dispose() {
+      if (hiloSimulacion != null) hiloSimulacion.detener();
+      if (medidorLatencia != null) Gdx.app.log("Latencia", medidorLatencia.getReporte());
+      Gdx.app.log("Calidad", gobernador.getReporte());
+      if (perfilTexturas != null) {
+    	  Gdx.app.log("Texturas", perfilTexturas.getReporte());
+    	  perfilTexturas.dispose();
+      }
       tarro.destruir();
       lluvia.destruir();
-      fondo.dispose();
+      particulas.dispose();
+      recursos.dispose();
+      if (pausa != null) pausa.dispose();
 	}
 
 }
@@ -0,0 +1,192 @@
+package com.mygame.rain.diagnostico;
+
+import com.mygame.rain.log.GameLog;
+
+import java.util.Arrays;
+
+/**
+ * Ajusta la calidad segun el tiempo de frame para no pasar del presupuesto.
+ *
+ * Guarda los ultimos VENTANA tiempos de frame y cada EVALUAR_CADA frames
+ * calcula p50/p95/p99. Si el p95 pasa el presupuesto baja un nivel; solo
+ * vuelve a subir tras SUBIR_TRAS evaluaciones seguidas con el p95 por
+ * debajo de FRACCION_RECUPERACION del presupuesto (histeresis, para no
+ * oscilar entre dos niveles). Al cambiar de nivel se vacia la ventana:
+ * cada nivel se juzga solo con frames dibujados con el, y una sobrecarga
+ * sostenida baja de a un nivel por vez en vez de arrastrar las muestras
+ * viejas hasta el nivel mas bajo.
+ *
+ * Los niveles recortan primero lo cosmetico (particulas, frecuencia de
+ * actualizacion fuera de la vista). Solo con 'proteccionRendimiento' se
+ * llega a los niveles que limitan la densidad de gotas: se acota el
+ * multiplicador de generacion (p. ej. el x2 de la maldicion), nunca la
+ * probabilidad de gota mala, asi que la proporcion de tipos no cambia.
+ */
+public class GobernadorCalidad {
+
+    private static final int VENTANA = 120;
+    private static final int EVALUAR_CADA = 30;
+    private static final int SUBIR_TRAS = 4;
+    private static final float FRACCION_RECUPERACION = 0.6f;
+
+    // Por nivel: factor de particulas, multiplicador del divisor fuera de vista, tope del multiplicador de gotas
+    private static final float[] FACTOR_PARTICULAS = { 1f, 0.5f, 0.25f, 0f, 0f, 0f };
+    private static final int[] FACTOR_DIVISOR = { 1, 1, 2, 4, 4, 4 };
+    private static final float[] LIMITE_MULTIPLICADOR = { Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, 1.5f, 1f };
+    private static final int NIVEL_MAXIMO_COSMETICO = 3;
+
+    private final float presupuestoMs;
+    private boolean proteccionRendimiento;
+
+    private final float[] muestras = new float[VENTANA];
+    private final float[] ordenadas = new float[VENTANA];
+    private int cantidadMuestras;
+    private int siguiente;
+    private int framesDesdeEvaluacion;
+    private int evaluacionesHolgadas;
+
+    private int nivel;
+    private float p50, p95, p99;
+
+    // Telemetria
+    private long frames;
+    private int bajadas;
+    private int subidas;
+    private String ultimaDecision = "sin cambios";
+
+    /**
+     * @param presupuestoMs         tiempo de frame objetivo (16.6 para 60 fps)
+     * @param proteccionRendimiento permitir limitar la densidad de gotas
+     */
+    public GobernadorCalidad(float presupuestoMs, boolean proteccionRendimiento) {
+        if (presupuestoMs <= 0) {
+            throw new IllegalArgumentException("El presupuesto debe ser positivo");
+        }
+        this.presupuestoMs = presupuestoMs;
+        this.proteccionRendimiento = proteccionRendimiento;
+    }
+
+    /**
+     * Registra el tiempo de trabajo de un frame. Devuelve true si el nivel
+     * cambio y hay que volver a aplicar los factores.
+     */
+    public boolean registrarFrame(long nanos) {
+        frames++;
+        muestras[siguiente] = nanos / 1_000_000f;
+        siguiente = (siguiente + 1) % VENTANA;
+        if (cantidadMuestras < VENTANA) cantidadMuestras++;
+
+        if (++framesDesdeEvaluacion < EVALUAR_CADA || cantidadMuestras < VENTANA / 2) {
+            return false;
+        }
+        framesDesdeEvaluacion = 0;
+        return evaluar();
+    }
+
+    private boolean evaluar() {
+        System.arraycopy(muestras, 0, ordenadas, 0, cantidadMuestras);
+        Arrays.sort(ordenadas, 0, cantidadMuestras);
+        p50 = percentil(0.50f);
+        p95 = percentil(0.95f);
+        p99 = percentil(0.99f);
+
+        if (p95 > presupuestoMs) {
+            evaluacionesHolgadas = 0;
+            if (nivel < getNivelMaximo()) {
+                cambiarNivel(nivel + 1, "baja: p95 sobre el presupuesto");
+                bajadas++;
+                return true;
+            }
+        } else if (p95 < presupuestoMs * FRACCION_RECUPERACION) {
+            if (++evaluacionesHolgadas >= SUBIR_TRAS && nivel > 0) {
+                evaluacionesHolgadas = 0;
+                cambiarNivel(nivel - 1, "sube: p95 holgado");
+                subidas++;
+                return true;
+            }
+        } else {
+            evaluacionesHolgadas = 0;
+        }
+        return false;
+    }
+
+    private float percentil(float p) {
+        int indice = Math.min(cantidadMuestras - 1, (int) (p * cantidadMuestras));
+        return ordenadas[indice];
+    }
+
+    private void cambiarNivel(int nuevo, String motivo) {
+        nivel = nuevo;
+        // las muestras anteriores son del nivel viejo
+        cantidadMuestras = 0;
+        siguiente = 0;
+        framesDesdeEvaluacion = 0;
+        ultimaDecision = motivo + String.format(" (p95=%.1fms) -> nivel %d", p95, nivel);
+        GameLog.info("Calidad: nivel {}", nivel);
+        GameLog.debug("Calidad: p95 {} ms", p95);
+    }
+
+    // ===== SALIDAS =====
+
+    public int getNivel() { return nivel; }
+
+    /**
+     * Factor para SistemaParticulas.setFactorCalidad.
+     */
+    public float getFactorParticulas() {
+        return FACTOR_PARTICULAS[nivel];
+    }
+
+    /**
+     * Multiplicador del divisor de actualizacion fuera de la vista.
+     */
+    public int getFactorDivisor() {
+        return FACTOR_DIVISOR[nivel];
+    }
+
+    /**
+     * Tope del multiplicador de gotas (Float.MAX_VALUE = sin tope).
+     */
+    public float getLimiteMultiplicadorGotas() {
+        return LIMITE_MULTIPLICADOR[nivel];
+    }
+
+    public boolean isProteccionRendimiento() {
+        return proteccionRendimiento;
+    }
+
+    /**
+     * Al desactivar la proteccion se vuelve de inmediato al nivel cosmetico maximo.
+     */
+    public void setProteccionRendimiento(boolean proteccion) {
+        this.proteccionRendimiento = proteccion;
+        if (nivel > getNivelMaximo()) {
+            cambiarNivel(getNivelMaximo(), "proteccion desactivada");
+        }
+    }
+
+    private int getNivelMaximo() {
+        return proteccionRendimiento ? FACTOR_PARTICULAS.length - 1 : NIVEL_MAXIMO_COSMETICO;
+    }
+
+    // ===== TELEMETRIA =====
+
+    public float getP50() { return p50; }
+    public float getP95() { return p95; }
+    public float getP99() { return p99; }
+    public int getBajadas() { return bajadas; }
+    public int getSubidas() { return subidas; }
+    public String getUltimaDecision() { return ultimaDecision; }
+
+    public String getReporte() {
+        return String.format("=== Gobernador de calidad ===%n"
+                        + "frames=%d presupuesto=%.1fms proteccion=%b%n"
+                        + "p50=%.2fms p95=%.2fms p99=%.2fms%n"
+                        + "nivel=%d particulas=%.2f divisor=x%d limiteGotas=%s%n"
+                        + "bajadas=%d subidas=%d ultima: %s%n",
+                frames, presupuestoMs, proteccionRendimiento, p50, p95, p99,
+                nivel, getFactorParticulas(), getFactorDivisor(),
+                getLimiteMultiplicadorGotas() == Float.MAX_VALUE ? "sin tope" : String.valueOf(getLimiteMultiplicadorGotas()),
+                bajadas, subidas, ultimaDecision);
+    }
+}
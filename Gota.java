@@ -0,0 +1,123 @@
+package com.mygame.rain.entities;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygame.rain.interfaces.Collectable;
+import com.mygame.rain.interfaces.MovimientoStrategy;
+import com.mygame.rain.log.GameLog;
+
+/**
+ * Gota de cualquier tipo. Lo comun a todas las gotas del tipo esta en su
+ * TipoGota; la instancia solo guarda posicion, impulso y estado (carga
+ * por fusion y si ya se recogio).
+ */
+public final class Gota extends GameObject implements Collectable {
+
+    private final TipoGota tipo;
+    // gotas normales absorbidas (1 = sin fusionar)
+    private byte carga = 1;
+    private boolean recolectada;
+
+    public Gota(float x, float y, TipoGota tipo) {
+        super(x, y);
+        if (tipo == null) {
+            throw new IllegalArgumentException("El tipo de gota no puede ser null");
+        }
+        this.tipo = tipo;
+    }
+
+    @Override
+    protected void mover(float deltaTime) {
+        aplicarEstrategiaMovimiento(deltaTime);
+    }
+
+    /**
+     * Fusion con otra gota del mismo tipo: suma su carga (puntos y daño se
+     * multiplican por ella), crece conservando el area alrededor del centro
+     * de masa y deja inactiva a la otra. Devuelve false si el tipo no se
+     * fusiona o se pasaria de la carga maxima.
+     */
+    public boolean absorber(Gota otra) {
+        if (otra.tipo != tipo || !isCollectable() || !otra.isCollectable()) return false;
+        int nueva = carga + otra.carga;
+        if (nueva > tipo.getCargaMaxima()) return false;
+
+        float peso = otra.carga / (float) nueva;
+        float cx = getX() + getWidth() / 2;
+        float cy = getY() + getHeight() / 2;
+        cx += (otra.getX() + otra.getWidth() / 2 - cx) * peso;
+        cy += (otra.getY() + otra.getHeight() / 2 - cy) * peso;
+
+        carga = (byte) nueva;
+        setPosition(cx - getWidth() / 2, cy - getHeight() / 2);
+        otra.setActive(false);
+        return true;
+    }
+
+    /**
+     * Carga de una gota restaurada de una partida guardada.
+     */
+    public void setCarga(int carga) {
+        if (carga < 1 || carga > tipo.getCargaMaxima()) {
+            throw new IllegalArgumentException("Carga fuera de rango para " + tipo.getNombre() + ": " + carga);
+        }
+        this.carga = (byte) carga;
+    }
+
+    @Override
+    public int getPoints() {
+        return tipo.getPuntos() * carga;
+    }
+
+    public int getDanio() {
+        return tipo.getDanio() * carga;
+    }
+
+    @Override
+    public void onCollect() {
+        if (!isCollectable()) return;
+        recolectada = true;
+        setActive(false);
+        switch (tipo.getId()) {
+            case TipoGota.BUENA:
+                GameLog.debug("¡Gota buena recolectada! +{} puntos", getPoints());
+                break;
+            case TipoGota.MALA:
+                GameLog.debug("¡Gota mala! -{} vida", getDanio());
+                break;
+            case TipoGota.LIMPIEZA:
+                GameLog.info("¡LIMPIEZA! Todas las gotas malas eliminadas. +{} puntos", getPoints());
+                break;
+            case TipoGota.MALDICION:
+                GameLog.info("¡MALDICIÓN! Más gotas malas por {} segundos", tipo.getDuracionEfecto());
+                break;
+        }
+    }
+
+    @Override
+    public boolean isCollectable() {
+        return isActive() && !recolectada;
+    }
+
+    public TipoGota getTipo() { return tipo; }
+    public int getCarga() { return carga; }
+
+    @Override
+    public float getWidth() { return tipo.getAncho(carga); }
+
+    @Override
+    public float getHeight() { return tipo.getAlto(carga); }
+
+    @Override
+    protected TextureRegion getRegion() { return tipo.getRegion(); }
+
+    @Override
+    public MascaraAlfa getMascara() { return tipo.getMascara(carga); }
+
+    @Override
+    public MovimientoStrategy getEstrategiaMovimiento() { return tipo.getEstrategia(carga); }
+
+    @Override
+    public void dispose() {
+        // textura compartida por el tipo, no se elimina aquí
+    }
+}
@@ -0,0 +1,98 @@
+package puppy.code;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.mygame.rain.ai.PilotoAutomatico;
+import com.mygame.rain.diagnostico.MedidorLatencia;
+import com.mygame.rain.diagnostico.VerificadorMemoria;
+import com.mygame.rain.input.EntradaGuionada;
+import com.mygame.rain.input.FuenteEntrada;
+import com.mygame.rain.nivel.Nivel;
+
+/**
+ * Lanza SimulacionHeadless. Opciones:
+ *   --ticks N     ticks a simular (por defecto 3600)
+ *   --hz N        ticks por segundo (por defecto 60)
+ *   --rapido      no esperar entre ticks (sin tiempo real; no usar con --latencia)
+ *   --latencia    medir latencia entrada-imagen con entrada sintetica
+ *   --cola N      frames de cola de presentacion simulada (por defecto 1)
+ *   --autopiloto  el tarro lo controla PilotoAutomatico en vez del guion
+ *   --horas H     simular H horas de juego (reemplaza --ticks)
+ *   --reporte N   imprimir estadisticas cada N ticks
+ *   --memoria     verificar que managers y heap no crezcan (sale con 1 si hay fuga)
+ *   --ecs         simular las gotas con el motor ECS
+ *   --fusion      unir las gotas superpuestas del mismo tipo
+ *   --obstaculos  simular con los techos y paraguas del nivel por defecto
+ *
+ * Prueba de resistencia tipica: --autopiloto --rapido --horas 4 --reporte 36000
+ * Prueba de fugas (CI):          --autopiloto --rapido --horas 6 --memoria
+ */
+public class HeadlessLauncher {
+
+	// muestras de --memoria por corrida (cada una fuerza GC); con --horas 6, una cada 10 minutos
+	private static final long MUESTRAS_MEMORIA = 36;
+
+	public static void main(String[] args) {
+		long ticks = 3600;
+		int hz = 60;
+		int cola = 1;
+		boolean rapido = false;
+		boolean latencia = false;
+		boolean autopiloto = false;
+		double horas = 0;
+		long reporte = 0;
+		boolean memoria = false;
+		boolean ecs = false;
+		boolean fusion = false;
+		boolean obstaculos = false;
+
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--ticks": ticks = Long.parseLong(args[++i]); break;
+				case "--hz": hz = Integer.parseInt(args[++i]); break;
+				case "--cola": cola = Integer.parseInt(args[++i]); break;
+				case "--rapido": rapido = true; break;
+				case "--latencia": latencia = true; break;
+				case "--autopiloto": autopiloto = true; break;
+				case "--horas": horas = Double.parseDouble(args[++i]); break;
+				case "--reporte": reporte = Long.parseLong(args[++i]); break;
+				case "--memoria": memoria = true; break;
+				case "--ecs": ecs = true; break;
+				case "--fusion": fusion = true; break;
+				case "--obstaculos": obstaculos = true; break;
+				default: throw new IllegalArgumentException("Opcion desconocida: " + args[i]);
+			}
+		}
+
+		if (horas > 0) {
+			ticks = (long) (horas * 3600 * hz);
+		}
+
+		FuenteEntrada fuente;
+		if (autopiloto) {
+			fuente = new PilotoAutomatico();
+		} else {
+			fuente = new EntradaGuionada(
+					new int[] { EntradaGuionada.IZQUIERDA, EntradaGuionada.QUIETO, EntradaGuionada.DERECHA, EntradaGuionada.QUIETO },
+					new int[] { 30, 15, 30, 15 });
+		}
+
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.updatesPerSecond = rapido ? 0 : hz;
+
+		SimulacionHeadless simulacion = new SimulacionHeadless(ConfiguracionMundo.porDefecto(), fuente,
+				hz, ticks, cola, latencia ? new MedidorLatencia() : null);
+		simulacion.setIntervaloReporte(reporte);
+		simulacion.setModoEcs(ecs);
+		simulacion.setFusionGotas(fusion);
+		if (obstaculos) {
+			ConfiguracionMundo mundo = ConfiguracionMundo.porDefecto();
+			simulacion.setNivel(Nivel.porDefecto(mundo.getAnchoMundo(), mundo.getAltoMundo()));
+		}
+		if (memoria) {
+			// el mismo numero de muestras sea cual sea el largo de la corrida
+			simulacion.setVerificadorMemoria(new VerificadorMemoria(), Math.max(1, ticks / MUESTRAS_MEMORIA));
+		}
+		new HeadlessApplication(simulacion, config);
+	}
+}
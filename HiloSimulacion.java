@@ -0,0 +1,214 @@
+package puppy.code;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.mygame.rain.effects.SistemaParticulas;
+import com.mygame.rain.input.FrameEntrada;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simula Lluvia y Tarro en un hilo propio a tick fijo.
+ *
+ * Comunicacion con el hilo de render, sin bloqueos:
+ * - entrada: el render publica el ultimo FrameEntrada en un AtomicReference
+ *   y el hilo lo lee al inicio de cada tick;
+ * - calidad: igual, los niveles que decide GobernadorCalidad se publican
+ *   con publicarCalidad y el hilo los aplica al inicio del tick siguiente;
+ * - salida: triple buffer de InstantaneaMundo. El hilo escribe siempre en su
+ *   buffer y al terminar el tick lo intercambia con el del medio; el render
+ *   toma el del medio solo si hay uno nuevo. Ninguno espera al otro: una
+ *   lluvia pesada no frena el dibujo ni un frame lento frena la simulacion.
+ *
+ * Mientras el hilo corre, Lluvia, Tarro y las particulas son solo suyos;
+ * el render dibuja unicamente desde las instantaneas.
+ */
+public class HiloSimulacion implements Runnable {
+
+	private static final int NUEVO = 4;
+	private static final int MAXIMO_TICKS_ATRASADOS = 5;
+
+	private final Lluvia lluvia;
+	private final Tarro tarro;
+	private final SistemaParticulas particulas;
+	private final float deltaTick;
+	private final long periodoNanos;
+
+	private final AtomicReference<FrameEntrada> entrada = new AtomicReference<>(FrameEntrada.VACIO);
+	// null si no hay cambios pendientes
+	private final AtomicReference<NivelCalidad> calidad = new AtomicReference<>();
+
+	private final InstantaneaMundo[] buffers = new InstantaneaMundo[3];
+	private final AtomicInteger medio = new AtomicInteger(1);
+	private int escritura = 0;
+	private int lectura = 2;
+
+	private volatile boolean corriendo;
+	private volatile boolean terminada;
+	private volatile Throwable error;
+	private Thread hilo;
+	private long ticks;
+	private long tickEntrada;
+	private long tickEvento = -1;
+	private long tiempoEventoNanos;
+	private long tiempoConsumoNanos;
+
+	/**
+	 * @param particulas particulas vivas de la simulacion (null si no hay)
+	 */
+	public HiloSimulacion(Lluvia lluvia, Tarro tarro, SistemaParticulas particulas, int ticksPorSegundo) {
+		if (ticksPorSegundo <= 0) {
+			throw new IllegalArgumentException("ticksPorSegundo debe ser positivo");
+		}
+		this.lluvia = lluvia;
+		this.tarro = tarro;
+		this.particulas = particulas;
+		this.deltaTick = 1f / ticksPorSegundo;
+		this.periodoNanos = 1_000_000_000L / ticksPorSegundo;
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = new InstantaneaMundo();
+			if (particulas != null) buffers[i].particulas = particulas.crearCopiaDeDibujo();
+		}
+		// el render tiene algo que dibujar antes del primer tick
+		escribir(buffers[lectura]);
+	}
+
+	public void iniciar() {
+		if (corriendo) return;
+		corriendo = true;
+		hilo = new Thread(this, "simulacion");
+		hilo.setDaemon(true);
+		hilo.start();
+	}
+
+	/**
+	 * Detiene el hilo y espera a que termine el tick en curso. Despues de
+	 * esto el hilo de render puede volver a usar Lluvia y Tarro.
+	 */
+	public void detener() {
+		corriendo = false;
+		if (hilo == null) return;
+		LockSupport.unpark(hilo);
+		try {
+			hilo.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		hilo = null;
+	}
+
+	public void publicarEntrada(FrameEntrada frame) {
+		entrada.set(frame);
+	}
+
+	/**
+	 * Niveles de calidad para Lluvia y las particulas. Desde el hilo de
+	 * render; se aplican al inicio del proximo tick (si se publican varios
+	 * antes, solo el ultimo).
+	 */
+	public void publicarCalidad(float factorParticulas, int factorDivisor, float limiteMultiplicadorGotas) {
+		calidad.set(new NivelCalidad(factorParticulas, factorDivisor, limiteMultiplicadorGotas));
+	}
+
+	/**
+	 * La instantanea mas reciente. Solo desde el hilo de render; es valida
+	 * hasta la siguiente llamada.
+	 */
+	public InstantaneaMundo tomarUltima() {
+		if (error != null) {
+			throw new GdxRuntimeException("Fallo el hilo de simulacion", error);
+		}
+		if ((medio.get() & NUEVO) != 0) {
+			lectura = medio.getAndSet(lectura) & 3;
+		}
+		return buffers[lectura];
+	}
+
+	@Override
+	public void run() {
+		try {
+			long siguiente = System.nanoTime();
+			while (corriendo && !terminada) {
+				long ahora = System.nanoTime();
+				if (ahora < siguiente) {
+					LockSupport.parkNanos(siguiente - ahora);
+					continue;
+				}
+				// si el hilo se atraso mucho (p. ej. tras suspender) no se recuperan todos los ticks
+				if (ahora - siguiente > MAXIMO_TICKS_ATRASADOS * periodoNanos) {
+					siguiente = ahora;
+				}
+				tick();
+				siguiente += periodoNanos;
+			}
+		} catch (Throwable t) {
+			error = t;
+		} finally {
+			corriendo = false;
+		}
+	}
+
+	private void tick() {
+		ticks++;
+		NivelCalidad nueva = calidad.getAndSet(null);
+		if (nueva != null) {
+			if (particulas != null) particulas.setFactorCalidad(nueva.factorParticulas);
+			lluvia.setFactorDivisor(nueva.factorDivisor);
+			lluvia.setLimiteMultiplicadorGotas(nueva.limiteMultiplicadorGotas);
+		}
+		if (tarro.estaHerido()) {
+			tarro.avanzarTiempoHerido();
+		} else {
+			FrameEntrada frame = entrada.get();
+			// el mismo frame puede leerse en varios ticks: cuenta el primero
+			if (frame.hayEvento() && frame.getTick() != tickEvento) {
+				tickEvento = frame.getTick();
+				tiempoEventoNanos = frame.getTiempoEventoNanos();
+				tiempoConsumoNanos = System.nanoTime();
+			}
+			tickEntrada = frame.getTick();
+			tarro.actualizarMovimiento(frame, deltaTick);
+			if (!lluvia.actualizarMovimiento(tarro, deltaTick)) {
+				terminada = true;
+			}
+		}
+		if (particulas != null) particulas.actualizar(deltaTick);
+
+		escribir(buffers[escritura]);
+		escritura = medio.getAndSet(escritura | NUEVO) & 3;
+	}
+
+	private void escribir(InstantaneaMundo inst) {
+		lluvia.escribirInstantanea(inst);
+		inst.tarroX = tarro.getArea().x;
+		inst.tarroY = tarro.getArea().y;
+		inst.tarroHerido = tarro.estaHerido();
+		inst.puntos = tarro.getPuntos();
+		inst.vidas = tarro.getVidas();
+		inst.maldicion = lluvia.estaMaldicionActiva();
+		inst.tiempoMaldicion = lluvia.getTiempoMaldicionRestante();
+		inst.terminada = terminada;
+		inst.tick = ticks;
+		inst.tickEntrada = tickEntrada;
+		inst.tickEvento = tickEvento;
+		inst.tiempoEventoNanos = tiempoEventoNanos;
+		inst.tiempoConsumoNanos = tiempoConsumoNanos;
+		if (particulas != null) inst.particulas.copiarDesde(particulas);
+	}
+
+	public boolean isCorriendo() { return corriendo; }
+	public long getTicks() { return ticks; }
+
+	private static final class NivelCalidad {
+		final float factorParticulas;
+		final int factorDivisor;
+		final float limiteMultiplicadorGotas;
+
+		NivelCalidad(float factorParticulas, int factorDivisor, float limiteMultiplicadorGotas) {
+			this.factorParticulas = factorParticulas;
+			this.factorDivisor = factorDivisor;
+			this.limiteMultiplicadorGotas = limiteMultiplicadorGotas;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.mygame.rain.diagnostico;
+
+/**
+ * Histograma de latencias con cubetas fijas de 0.5 ms hasta 100 ms (más una
+ * de desborde). Registrar una muestra no crea objetos.
+ */
+public class HistogramaLatencia {
+
+    private static final long ANCHO_CUBETA_NANOS = 500_000L;
+    private static final int CUBETAS = 200;
+
+    private final String nombre;
+    private final long[] cuentas = new long[CUBETAS + 1];
+    private long total;
+    private long sumaNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+
+    public HistogramaLatencia(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public void registrar(long nanos) {
+        if (nanos < 0) nanos = 0;
+        int cubeta = (int) Math.min(nanos / ANCHO_CUBETA_NANOS, CUBETAS);
+        cuentas[cubeta]++;
+        total++;
+        sumaNanos += nanos;
+        if (nanos < minNanos) minNanos = nanos;
+        if (nanos > maxNanos) maxNanos = nanos;
+    }
+
+    /**
+     * Percentil aproximado (límite superior de la cubeta), en milisegundos.
+     */
+    public double percentilMs(double percentil) {
+        if (total == 0) return 0;
+        long objetivo = (long) Math.ceil(total * percentil / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i <= CUBETAS; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return i == CUBETAS ? maxNanos / 1e6 : (i + 1) * ANCHO_CUBETA_NANOS / 1e6;
+            }
+        }
+        return maxNanos / 1e6;
+    }
+
+    public double promedioMs() {
+        return total == 0 ? 0 : sumaNanos / (double) total / 1e6;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void reiniciar() {
+        java.util.Arrays.fill(cuentas, 0);
+        total = 0;
+        sumaNanos = 0;
+        minNanos = Long.MAX_VALUE;
+        maxNanos = 0;
+    }
+
+    /**
+     * Resumen con percentiles y barras por cubeta (solo cubetas no vacías).
+     */
+    public void escribirReporte(StringBuilder sb) {
+        sb.append(nombre).append(": n=").append(total);
+        if (total == 0) {
+            sb.append('\n');
+            return;
+        }
+        sb.append(String.format(" prom=%.2fms min=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms%n",
+                promedioMs(), minNanos / 1e6, percentilMs(50), percentilMs(95), percentilMs(99), maxNanos / 1e6));
+
+        long mayor = 0;
+        for (long c : cuentas) mayor = Math.max(mayor, c);
+        for (int i = 0; i <= CUBETAS; i++) {
+            if (cuentas[i] == 0) continue;
+            if (i == CUBETAS) {
+                sb.append(String.format("  >=%6.1fms ", CUBETAS * ANCHO_CUBETA_NANOS / 1e6));
+            } else {
+                sb.append(String.format("  %6.1fms   ", i * ANCHO_CUBETA_NANOS / 1e6));
+            }
+            int barra = (int) Math.max(1, 40 * cuentas[i] / mayor);
+            for (int b = 0; b < barra; b++) sb.append('#');
+            sb.append(' ').append(cuentas[i]).append('\n');
+        }
+    }
+}
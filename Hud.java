@@ -0,0 +1,140 @@
+package puppy.code;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Textos del HUD cacheados: cada linea solo se vuelve a componer cuando
+ * cambia el valor que muestra. Entre cambios dibujar() solo envia los
+ * vertices ya calculados al batch.
+ */
+public class Hud {
+
+	private static final int SIN_VALOR = Integer.MIN_VALUE;
+
+	private final BitmapFont font;
+	private final GlyphLayout layout = new GlyphLayout();
+	private final StringBuilder texto = new StringBuilder(32);
+
+	private final BitmapFontCache cachePuntos;
+	private final BitmapFontCache cacheVidas;
+	private final BitmapFontCache cacheHighScore;
+	private final BitmapFontCache cacheGotas;
+	private final BitmapFontCache cacheMaldicion;
+
+	private int puntos = SIN_VALOR;
+	private int vidas = SIN_VALOR;
+	private int highScore = SIN_VALOR;
+	private int gotasActivas = SIN_VALOR;
+	private int decimasMaldicion = SIN_VALOR;
+
+	private float ancho;
+	private float alto;
+	private boolean mostrarEstadisticas;
+
+	public Hud(BitmapFont font, float ancho, float alto) {
+		this.font = font;
+		this.ancho = ancho;
+		this.alto = alto;
+		cachePuntos = new BitmapFontCache(font, font.usesIntegerPositions());
+		cacheVidas = new BitmapFontCache(font, font.usesIntegerPositions());
+		cacheHighScore = new BitmapFontCache(font, font.usesIntegerPositions());
+		cacheGotas = new BitmapFontCache(font, font.usesIntegerPositions());
+		cacheMaldicion = new BitmapFontCache(font, font.usesIntegerPositions());
+	}
+
+	public void actualizar(int puntos, int vidas, int highScore) {
+		if (puntos != this.puntos) {
+			this.puntos = puntos;
+			texto.setLength(0);
+			texto.append("Gotas totales: ").append(puntos);
+			componer(cachePuntos, 5, alto - 5);
+		}
+		if (vidas != this.vidas) {
+			this.vidas = vidas;
+			texto.setLength(0);
+			texto.append("Vidas : ").append(vidas);
+			componer(cacheVidas, ancho - 130, alto - 5);
+		}
+		if (highScore != this.highScore) {
+			this.highScore = highScore;
+			texto.setLength(0);
+			texto.append("HighScore : ").append(highScore);
+			componer(cacheHighScore, ancho / 2 - 50, alto - 5);
+		}
+	}
+
+	/**
+	 * Estadisticas extra (gotas en pantalla y tiempo de maldicion). El tiempo
+	 * se muestra en decimas, asi que se recompone como maximo 10 veces por segundo.
+	 */
+	public void actualizarEstadisticas(int gotasActivas, boolean maldicionActiva, float tiempoMaldicion) {
+		if (!mostrarEstadisticas) return;
+
+		if (gotasActivas != this.gotasActivas) {
+			this.gotasActivas = gotasActivas;
+			texto.setLength(0);
+			texto.append("Gotas : ").append(gotasActivas);
+			componer(cacheGotas, 5, alto - 35);
+		}
+
+		int decimas = maldicionActiva ? (int) Math.ceil(tiempoMaldicion * 10) : 0;
+		if (decimas != decimasMaldicion) {
+			decimasMaldicion = decimas;
+			if (decimas > 0) {
+				texto.setLength(0);
+				texto.append("Maldicion : ").append(decimas / 10).append('.').append(decimas % 10).append('s');
+				componer(cacheMaldicion, ancho / 2 - 50, alto - 35);
+			} else {
+				cacheMaldicion.clear();
+			}
+		}
+	}
+
+	public void dibujar(Batch batch) {
+		cachePuntos.draw(batch);
+		cacheVidas.draw(batch);
+		cacheHighScore.draw(batch);
+		if (mostrarEstadisticas) {
+			cacheGotas.draw(batch);
+			cacheMaldicion.draw(batch);
+		}
+	}
+
+	public void setMostrarEstadisticas(boolean mostrarEstadisticas) {
+		this.mostrarEstadisticas = mostrarEstadisticas;
+		if (!mostrarEstadisticas) {
+			gotasActivas = SIN_VALOR;
+			decimasMaldicion = SIN_VALOR;
+		}
+	}
+
+	public boolean isMostrarEstadisticas() {
+		return mostrarEstadisticas;
+	}
+
+	/**
+	 * Cambia el area del HUD y fuerza a recomponer todas las lineas.
+	 */
+	public void redimensionar(float ancho, float alto) {
+		this.ancho = ancho;
+		this.alto = alto;
+		invalidar();
+	}
+
+	/**
+	 * Descarta los textos cacheados (por ejemplo si cambia la escala de la fuente).
+	 */
+	public void invalidar() {
+		puntos = vidas = highScore = SIN_VALOR;
+		gotasActivas = decimasMaldicion = SIN_VALOR;
+	}
+
+	private void componer(BitmapFontCache cache, float x, float y) {
+		layout.setText(font, texto);
+		cache.setText(layout, x, y);
+	}
+}
@@ -0,0 +1,87 @@
+package puppy.code;
+
+import com.mygame.rain.effects.SistemaParticulas;
+
+/**
+ * Lo que el hilo de render necesita para dibujar un tick: posicion, tamaño
+ * y tipo de cada gota, el tarro, los valores del HUD y una copia de las
+ * particulas. La escribe HiloSimulacion y, una vez publicada, solo la lee
+ * el hilo de render hasta que se la devuelve (ver HiloSimulacion).
+ */
+public final class InstantaneaMundo {
+
+	private float[] x = new float[256];
+	private float[] y = new float[256];
+	private float[] ancho = new float[256];
+	private float[] alto = new float[256];
+	private byte[] tipo = new byte[256];
+	private int cantidad;
+
+	float tarroX;
+	float tarroY;
+	boolean tarroHerido;
+	int puntos;
+	int vidas;
+	boolean maldicion;
+	float tiempoMaldicion;
+	boolean terminada;
+	long tick;
+	// entrada aplicada en este tick y ultimo evento consumido (para MedidorLatencia)
+	long tickEntrada;
+	long tickEvento = -1;
+	long tiempoEventoNanos;
+	long tiempoConsumoNanos;
+	SistemaParticulas particulas;
+
+	void limpiarGotas() {
+		cantidad = 0;
+	}
+
+	void agregarGota(byte tipoGota, float px, float py, float w, float h) {
+		if (cantidad == x.length) {
+			crecer(x.length * 2);
+		}
+		x[cantidad] = px;
+		y[cantidad] = py;
+		ancho[cantidad] = w;
+		alto[cantidad] = h;
+		tipo[cantidad] = tipoGota;
+		cantidad++;
+	}
+
+	private void crecer(int capacidad) {
+		x = java.util.Arrays.copyOf(x, capacidad);
+		y = java.util.Arrays.copyOf(y, capacidad);
+		ancho = java.util.Arrays.copyOf(ancho, capacidad);
+		alto = java.util.Arrays.copyOf(alto, capacidad);
+		tipo = java.util.Arrays.copyOf(tipo, capacidad);
+	}
+
+	public int getCantidad() { return cantidad; }
+	public float getX(int i) { return x[i]; }
+	public float getY(int i) { return y[i]; }
+	public float getAncho(int i) { return ancho[i]; }
+	public float getAlto(int i) { return alto[i]; }
+	public byte getTipo(int i) { return tipo[i]; }
+
+	public float getTarroX() { return tarroX; }
+	public float getTarroY() { return tarroY; }
+	public boolean isTarroHerido() { return tarroHerido; }
+	public int getPuntos() { return puntos; }
+	public int getVidas() { return vidas; }
+	public boolean isMaldicion() { return maldicion; }
+	public float getTiempoMaldicion() { return tiempoMaldicion; }
+	public boolean isTerminada() { return terminada; }
+	public long getTick() { return tick; }
+	public long getTickEntrada() { return tickEntrada; }
+
+	/** Tick de entrada del ultimo evento que aplico la simulacion, o -1 si aun no hubo. */
+	public long getTickEvento() { return tickEvento; }
+	public long getTiempoEventoNanos() { return tiempoEventoNanos; }
+	public long getTiempoConsumoNanos() { return tiempoConsumoNanos; }
+
+	/**
+	 * Copia de las particulas de este tick, o null si no hay.
+	 */
+	public SistemaParticulas getParticulas() { return particulas; }
+}
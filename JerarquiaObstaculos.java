@@ -0,0 +1,222 @@
+package com.mygame.rain.nivel;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Jerarquia de volumenes envolventes (BVH) sobre los obstaculos de un
+ * nivel. Se construye una vez (division por la mediana del eje mas largo)
+ * y queda en arreglos planos: cada nodo guarda su caja y, si es hoja, el
+ * rango de obstaculos que contiene; los hijos de un nodo interno son
+ * 'izquierdo[n]' y 'izquierdo[n] + 1'.
+ *
+ * barrer() recorre solo las ramas cuya caja toca el recorrido de la gota
+ * en este tick, asi que el costo crece con log(obstaculos) y no con su
+ * cantidad.
+ */
+public class JerarquiaObstaculos {
+
+    private static final int MAX_POR_HOJA = 2;
+    private static final float SEPARACION = 0.01f;
+
+    private final Obstaculo[] obstaculos;
+
+    // nodos en arreglos paralelos
+    private final float[] minX;
+    private final float[] minY;
+    private final float[] maxX;
+    private final float[] maxY;
+    private final int[] izquierdo;   // -1 = hoja
+    private final int[] primero;
+    private final int[] cantidad;
+    private int nodos;
+
+    private final float[] centros;
+    private int[] pila = new int[32];
+
+    /**
+     * Resultado de un barrido: fraccion del desplazamiento hasta el contacto
+     * y normal de la cara tocada.
+     */
+    public static final class Impacto {
+        float t;
+        float normalX;
+        float normalY;
+        Obstaculo obstaculo;
+
+        public float getT() { return t; }
+        public float getNormalX() { return normalX; }
+        public float getNormalY() { return normalY; }
+        public Obstaculo getObstaculo() { return obstaculo; }
+    }
+
+    public JerarquiaObstaculos(Array<Obstaculo> lista) {
+        int n = lista.size;
+        obstaculos = new Obstaculo[n];
+        for (int i = 0; i < n; i++) obstaculos[i] = lista.get(i);
+
+        int maxNodos = Math.max(1, 2 * n);
+        minX = new float[maxNodos];
+        minY = new float[maxNodos];
+        maxX = new float[maxNodos];
+        maxY = new float[maxNodos];
+        izquierdo = new int[maxNodos];
+        primero = new int[maxNodos];
+        cantidad = new int[maxNodos];
+        centros = new float[n];
+
+        if (n > 0) {
+            nodos = 1;
+            construir(0, 0, n);
+        }
+    }
+
+    private void construir(int nodo, int desde, int hasta) {
+        float x0 = Float.MAX_VALUE, y0 = Float.MAX_VALUE;
+        float x1 = -Float.MAX_VALUE, y1 = -Float.MAX_VALUE;
+        for (int i = desde; i < hasta; i++) {
+            Obstaculo o = obstaculos[i];
+            x0 = Math.min(x0, o.getX());
+            y0 = Math.min(y0, o.getY());
+            x1 = Math.max(x1, o.getX() + o.getAncho());
+            y1 = Math.max(y1, o.getY() + o.getAlto());
+        }
+        minX[nodo] = x0;
+        minY[nodo] = y0;
+        maxX[nodo] = x1;
+        maxY[nodo] = y1;
+
+        if (hasta - desde <= MAX_POR_HOJA) {
+            izquierdo[nodo] = -1;
+            primero[nodo] = desde;
+            cantidad[nodo] = hasta - desde;
+            return;
+        }
+
+        boolean ejeX = x1 - x0 >= y1 - y0;
+        ordenarPorCentro(desde, hasta, ejeX);
+        int medio = (desde + hasta) >>> 1;
+
+        int hijo = nodos;
+        nodos += 2;
+        izquierdo[nodo] = hijo;
+        construir(hijo, desde, medio);
+        construir(hijo + 1, medio, hasta);
+    }
+
+    // insercion: solo se usa al construir el nivel
+    private void ordenarPorCentro(int desde, int hasta, boolean ejeX) {
+        for (int i = desde; i < hasta; i++) {
+            Obstaculo o = obstaculos[i];
+            centros[i] = ejeX ? o.getX() + o.getAncho() / 2 : o.getY() + o.getAlto() / 2;
+        }
+        for (int i = desde + 1; i < hasta; i++) {
+            Obstaculo o = obstaculos[i];
+            float c = centros[i];
+            int j = i - 1;
+            while (j >= desde && centros[j] > c) {
+                obstaculos[j + 1] = obstaculos[j];
+                centros[j + 1] = centros[j];
+                j--;
+            }
+            obstaculos[j + 1] = o;
+            centros[j + 1] = c;
+        }
+    }
+
+    /**
+     * Barre la caja (x, y, ancho, alto) por (dx, dy) y devuelve en 'impacto'
+     * el primer obstaculo tocado. Los obstaculos que ya se superponen con la
+     * caja al inicio se ignoran (la gota los atraviesa en vez de trabarse).
+     *
+     * @return true si hubo impacto antes de completar el desplazamiento
+     */
+    public boolean barrer(float x, float y, float ancho, float alto, float dx, float dy, Impacto impacto) {
+        if (nodos == 0) return false;
+
+        float bx0 = Math.min(x, x + dx);
+        float by0 = Math.min(y, y + dy);
+        float bx1 = Math.max(x, x + dx) + ancho;
+        float by1 = Math.max(y, y + dy) + alto;
+
+        float mejorT = 1f;
+        Obstaculo mejor = null;
+        float mejorNx = 0, mejorNy = 0;
+
+        int tope = 0;
+        pila[tope++] = 0;
+        while (tope > 0) {
+            int n = pila[--tope];
+            if (maxX[n] <= bx0 || minX[n] >= bx1 || maxY[n] <= by0 || minY[n] >= by1) continue;
+
+            if (izquierdo[n] >= 0) {
+                if (tope + 2 > pila.length) {
+                    int[] mayor = new int[pila.length * 2];
+                    System.arraycopy(pila, 0, mayor, 0, tope);
+                    pila = mayor;
+                }
+                pila[tope++] = izquierdo[n];
+                pila[tope++] = izquierdo[n] + 1;
+                continue;
+            }
+
+            for (int i = primero[n], fin = primero[n] + cantidad[n]; i < fin; i++) {
+                Obstaculo o = obstaculos[i];
+                // obstaculo agrandado por la caja: el barrido pasa a ser un rayo desde (x, y)
+                float ox0 = o.getX() - ancho;
+                float oy0 = o.getY() - alto;
+                float ox1 = o.getX() + o.getAncho();
+                float oy1 = o.getY() + o.getAlto();
+                if (x > ox0 && x < ox1 && y > oy0 && y < oy1) continue;
+
+                float entradaX, salidaX, entradaY, salidaY;
+                if (dx == 0) {
+                    if (x <= ox0 || x >= ox1) continue;
+                    entradaX = -Float.MAX_VALUE;
+                    salidaX = Float.MAX_VALUE;
+                } else {
+                    float t0 = (ox0 - x) / dx;
+                    float t1 = (ox1 - x) / dx;
+                    entradaX = Math.min(t0, t1);
+                    salidaX = Math.max(t0, t1);
+                }
+                if (dy == 0) {
+                    if (y <= oy0 || y >= oy1) continue;
+                    entradaY = -Float.MAX_VALUE;
+                    salidaY = Float.MAX_VALUE;
+                } else {
+                    float t0 = (oy0 - y) / dy;
+                    float t1 = (oy1 - y) / dy;
+                    entradaY = Math.min(t0, t1);
+                    salidaY = Math.max(t0, t1);
+                }
+
+                float entrada = Math.max(entradaX, entradaY);
+                float salida = Math.min(salidaX, salidaY);
+                if (entrada >= salida || entrada < 0 || entrada >= mejorT) continue;
+
+                mejorT = entrada;
+                mejor = o;
+                if (entradaX > entradaY) {
+                    mejorNx = dx > 0 ? -1 : 1;
+                    mejorNy = 0;
+                } else {
+                    mejorNx = 0;
+                    mejorNy = dy > 0 ? -1 : 1;
+                }
+            }
+        }
+
+        if (mejor == null) return false;
+        // se detiene un poco antes del contacto para no quedar tocando
+        float largo = (float) Math.sqrt(dx * dx + dy * dy);
+        impacto.t = Math.max(0, mejorT - SEPARACION / Math.max(largo, SEPARACION));
+        impacto.normalX = mejorNx;
+        impacto.normalY = mejorNy;
+        impacto.obstaculo = mejor;
+        return true;
+    }
+
+    public int getCantidadObstaculos() { return obstaculos.length; }
+    public int getCantidadNodos() { return nodos; }
+    public Obstaculo getObstaculo(int i) { return obstaculos[i]; }
+}
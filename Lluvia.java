@@ -3,16 +3,36 @@ package puppy.code;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.TimeUtils;
-
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.mygame.rain.clima.CaidaConViento;
+import com.mygame.rain.clima.CampoFuerzas;
+import com.mygame.rain.ecs.Arquetipo;
+import com.mygame.rain.ecs.BufferEventos;
+import com.mygame.rain.ecs.Componentes;
+import com.mygame.rain.ecs.MundoEcs;
+import com.mygame.rain.ecs.SistemaColision;
+import com.mygame.rain.ecs.SistemaMovimiento;
+import com.mygame.rain.ecs.SistemaRender;
+import com.mygame.rain.ecs.SistemaVida;
+import com.mygame.rain.ecs.TablaArquetipo;
+import com.mygame.rain.effects.ProgramadorEfectos;
+import com.mygame.rain.effects.SistemaParticulas;
+import com.mygame.rain.effects.TipoEfecto;
 import com.mygame.rain.entities.*;
-import com.mygame.rain.interfaces.Collectable;
+import com.mygame.rain.log.GameLog;
 import com.mygame.rain.managers.GameObjectManager;
-import com.mygame.rain.managers.CollectionManager;
+import com.mygame.rain.nivel.JerarquiaObstaculos;
+import com.mygame.rain.managers.GameObjectManager.CollectionResult;
 
 public class Lluvia {
 
@@ -23,8 +43,8 @@ public class Lluvia {
      * Devuelve la instancia única de Lluvia. Si aún no está creada,
      * la crea usando los recursos entregados.
      */
-    public static synchronized Lluvia getInstance(Texture gotaBuena, Texture gotaMala,
-                                                  Texture gotaLimpieza, Texture gotaMaldicion,
+    public static synchronized Lluvia getInstance(TextureRegion gotaBuena, TextureRegion gotaMala,
+                                                  TextureRegion gotaLimpieza, TextureRegion gotaMaldicion,
                                                   Sound ss, Music mm) {
         if (instance == null) {
             instance = new Lluvia(gotaBuena, gotaMala, gotaLimpieza, gotaMaldicion, ss, mm);
@@ -44,224 +64,836 @@ public class Lluvia {
         return instance;
     }
 
-    // Managers OO
+    // Registro único de gotas (movimiento, dibujo y recolección)
     private GameObjectManager objectManager;
-    private CollectionManager collectionManager;
 
-    // Texturas
-    private Texture gotaBuenaTexture;
-    private Texture gotaMalaTexture;
-    private Texture gotaLimpiezaTexture;
-    private Texture gotaMaldicionTexture;
+    // Modo ECS opcional: las gotas viven en tablas por arquetipo en vez de objetos
+    private boolean modoEcs;
+    private MundoEcs mundoEcs;
+    private final SistemaMovimiento sistemaMovimiento = new SistemaMovimiento();
+    private final SistemaColision sistemaColision = new SistemaColision();
+    private final SistemaVida sistemaVida = new SistemaVida();
+    private final SistemaRender sistemaRender = new SistemaRender();
+    private final BufferEventos recolecciones = new BufferEventos();
+    private final BufferEventos salidas = new BufferEventos();
+
+    // Regiones (del atlas de Recursos, o de texturas sueltas)
+    private TextureRegion gotaBuenaRegion;
+    private TextureRegion gotaMalaRegion;
+    private TextureRegion gotaLimpiezaRegion;
+    private TextureRegion gotaMaldicionRegion;
 
     // Audio
     private Sound dropSound;
     private Music rainMusic;
 
-    // Temporización
-    private long lastDropTime;
-    private long lastSpecialDropTime;
+    // Temporización (segundos de simulación desde la última gota)
+    private float tiempoDesdeUltimaGota;
+    private float tiempoDesdeUltimaEspecial;
+
+    // Mundo y region visible (para culling y actualización reducida)
+    private ConfiguracionMundo configuracion = ConfiguracionMundo.porDefecto();
+    private final Rectangle regionVisible = new Rectangle();
+    private final Rectangle regionActiva = new Rectangle();
+    private boolean hayRegionVisible;
+
+    // Efectos (opcional; null = sin partículas)
+    private SistemaParticulas particulas;
+
+    // Multijugador: colectores de los tarros vivos en el tick actual
+    private final Array<Rectangle> areasTarros = new Array<>();
+    private final Array<MascaraAlfa> mascarasTarros = new Array<>();
+
+    // Máscaras alfa por tipo de gota (null = colisión solo por AABB)
+    private final MascaraAlfa[] mascarasGota = new MascaraAlfa[4];
+    private final Array<Tarro> tarrosVivos = new Array<>();
+
+    // Estado: efectos temporales (maldición) y gotas normales por generar
+    private final ProgramadorEfectos efectos = new ProgramadorEfectos();
+    private float gotasPendientes;
+
+    // Viento: campo compartido por todas las gotas (objetos y ECS)
+    private CampoFuerzas campoFuerzas;
+    private CaidaConViento caida;
+    private boolean climaActivo;
+    private float tiempoDesdeFenomeno;
+
+    // Obstáculos estáticos del nivel (null = sin obstáculos)
+    private JerarquiaObstaculos obstaculos;
 
-    // Estado
-    private boolean maldicionActiva;
-    private float tiempoMaldicionRestante;
-    private int probabilidadGotaMala;
+    // Fusión opcional de gotas superpuestas (solo modo objetos)
+    private boolean fusionGotas;
+    private final IntArray paresVecinos = new IntArray();
+
+    // Descriptores compartidos por tipo de gota (se arman en crear())
+    private final TipoGota[] tiposGota = new TipoGota[TipoGota.CANTIDAD];
+
+    // Recortes por rendimiento (ver GobernadorCalidad); no cambian la probabilidad de gota mala
+    private float limiteMultiplicadorGotas = Float.MAX_VALUE;
+    private int factorDivisor = 1;
 
     // Configuración
-    private static final long INTERVALO_GOTAS = 200000000;       // 0.2s
-    private static final long INTERVALO_ESPECIALES = 10000000000L; // 10s
+    private static final float INTERVALO_GOTAS = 0.2f;
+    private static final float INTERVALO_ESPECIALES = 10f;
     private static final int PROBABILIDAD_NORMAL = 60;
-    private static final int PROBABILIDAD_MALDICION = 40;
+    private static final float VELOCIDAD_CAIDA = 300f;
+    private static final float VELOCIDAD_CAIDA_ECS = -VELOCIDAD_CAIDA;
+    private static final float TAMANO_CELDA_VIENTO = 64f;
+    private static final float INTERVALO_FENOMENOS = 12f;
+    private static final float AUMENTO_CAIDA_POR_CARGA = 0.25f;
+    // una gota buena fusionada no pasa de 4 normales (el doble de ancho); una mala, de 3 de daño
+    private static final int CARGA_MAXIMA_BUENA = 4;
+    private static final int CARGA_MAXIMA_MALA = 3;
 
     /**
      * Constructor CON gotas especiales (ÚNICO CONSTRUCTOR)
      * Ahora es PRIVADO por el patrón Singleton.
      */
-    private Lluvia(Texture gotaBuena, Texture gotaMala,
-                   Texture gotaLimpieza, Texture gotaMaldicion,
+    private Lluvia(TextureRegion gotaBuena, TextureRegion gotaMala,
+                   TextureRegion gotaLimpieza, TextureRegion gotaMaldicion,
                    Sound ss, Music mm) {
         this.rainMusic = mm;
         this.dropSound = ss;
-        this.gotaBuenaTexture = gotaBuena;
-        this.gotaMalaTexture = gotaMala;
-        this.gotaLimpiezaTexture = gotaLimpieza;
-        this.gotaMaldicionTexture = gotaMaldicion;
-        this.probabilidadGotaMala = PROBABILIDAD_NORMAL;
-        this.maldicionActiva = false;
+        this.gotaBuenaRegion = gotaBuena;
+        this.gotaMalaRegion = gotaMala;
+        this.gotaLimpiezaRegion = gotaLimpieza;
+        this.gotaMaldicionRegion = gotaMaldicion;
+        this.efectos.setOyente(tipo -> {
+            if (tipo == TipoEfecto.MALDICION) GameLog.info("✅ Maldición terminada");
+        });
     }
 
     public void crear() {
         objectManager = new GameObjectManager();
-        collectionManager = new CollectionManager();
+        objectManager.setWorldBounds(0, configuracion.getAnchoMundo(), -64, configuracion.getAltoMundo());
+        campoFuerzas = new CampoFuerzas(configuracion.getAnchoMundo(), configuracion.getAltoMundo(), TAMANO_CELDA_VIENTO);
+        caida = new CaidaConViento(campoFuerzas, VELOCIDAD_CAIDA);
+        caida.setObstaculos(obstaculos);
+        crearTiposGota();
+        sistemaMovimiento.setCampo(campoFuerzas);
+        if (modoEcs) {
+            crearMundoEcs();
+        }
         crearGotaDeLluvia();
+        // La primera gota especial aparece de inmediato
+        tiempoDesdeUltimaEspecial = INTERVALO_ESPECIALES;
 
         rainMusic.setLooping(true);
         rainMusic.play();
     }
 
     private void crearGotaDeLluvia() {
-        float x = MathUtils.random(0, 800 - 64);
-        float y = 480;
-
-        GameObject nuevaGota; // Variable tipo abstracto
+        float x = MathUtils.random(0, configuracion.getAnchoMundo() - 64);
+        float y = configuracion.getAltoMundo();
 
         // Decidir tipo según probabilidad actual
         int random = MathUtils.random(1, 100);
+        byte tipo = random <= getProbabilidadGotaMala() ? TipoGota.MALA : TipoGota.BUENA;
 
-        if (random <= probabilidadGotaMala) {
-            nuevaGota = new GotaMala(x, y, gotaMalaTexture);
-        } else {
-            nuevaGota = new GotaBuena(x, y, gotaBuenaTexture);
-        }
-
-        objectManager.addGameObject(nuevaGota);
-        collectionManager.addCollectable((Collectable) nuevaGota);
-
-        lastDropTime = TimeUtils.nanoTime();
+        generarGota(tipo, x, y);
+        tiempoDesdeUltimaGota = 0;
     }
 
     private void crearGotaEspecial() {
-        float x = MathUtils.random(0, 800 - 64);
-        float y = 480;
-
-        GameObject nuevaGota; // Polimorfismo
+        float x = MathUtils.random(0, configuracion.getAnchoMundo() - 64);
+        float y = configuracion.getAltoMundo();
 
         // 60% limpieza, 40% maldición
         boolean esLimpieza = MathUtils.random(1, 10) <= 6;
 
         if (esLimpieza) {
-            nuevaGota = new GotaLimpieza(x, y, gotaLimpiezaTexture);
-            System.out.println("💚 ¡Gota de LIMPIEZA apareció!");
+            generarGota(TipoGota.LIMPIEZA, x, y);
+            GameLog.info("💚 ¡Gota de LIMPIEZA apareció!");
         } else {
-            nuevaGota = new GotaMaldicion(x, y, gotaMaldicionTexture);
-            System.out.println("💜 ¡Gota de MALDICIÓN apareció!");
+            generarGota(TipoGota.MALDICION, x, y);
+            GameLog.info("💜 ¡Gota de MALDICIÓN apareció!");
+        }
+
+        tiempoDesdeUltimaEspecial = 0;
+    }
+
+    /**
+     * Tabla de descriptores: textura, máscara, tamaño, valores y caída de
+     * cada tipo. Las gotas malas fusionadas (más carga) caen más rápido.
+     */
+    private void crearTiposGota() {
+        CaidaConViento[] caidaBuena = new CaidaConViento[CARGA_MAXIMA_BUENA];
+        for (int c = 0; c < caidaBuena.length; c++) caidaBuena[c] = caida;
+
+        CaidaConViento[] caidaMala = new CaidaConViento[CARGA_MAXIMA_MALA];
+        caidaMala[0] = caida;
+        for (int c = 1; c < caidaMala.length; c++) {
+            caidaMala[c] = new CaidaConViento(campoFuerzas, VELOCIDAD_CAIDA * (1 + AUMENTO_CAIDA_POR_CARGA * c));
+            caidaMala[c].setObstaculos(obstaculos);
         }
+        CaidaConViento[] caidaUnica = { caida };
+
+        tiposGota[TipoGota.BUENA] = new TipoGota(TipoGota.BUENA, "GotaBuena", gotaBuenaRegion,
+                mascarasGota[TipoGota.BUENA], 64, 64, 10, 0, 0, caidaBuena);
+        tiposGota[TipoGota.MALA] = new TipoGota(TipoGota.MALA, "GotaMala", gotaMalaRegion,
+                mascarasGota[TipoGota.MALA], 64, 64, 0, 1, 0, caidaMala);
+        tiposGota[TipoGota.LIMPIEZA] = new TipoGota(TipoGota.LIMPIEZA, "GotaLimpieza", gotaLimpiezaRegion,
+                mascarasGota[TipoGota.LIMPIEZA], 64, 64, 20, 0, 0, caidaUnica);
+        tiposGota[TipoGota.MALDICION] = new TipoGota(TipoGota.MALDICION, "GotaMaldicion", gotaMaldicionRegion,
+                mascarasGota[TipoGota.MALDICION], 64, 64, 0, 0, 10f, caidaUnica);
+    }
 
-        objectManager.addGameObject(nuevaGota);
-        collectionManager.addCollectable((Collectable) nuevaGota);
+    private GameObject crearGota(byte tipo, float x, float y) {
+        if (tipo < 0 || tipo >= TipoGota.CANTIDAD) {
+            throw new IllegalArgumentException("Tipo de gota desconocido: " + tipo);
+        }
+        return new Gota(x, y, tiposGota[tipo]);
+    }
+
+    /**
+     * Agrega una gota del tipo indicado: una fila en su tabla en modo ECS o
+     * un objeto en el registro en modo normal.
+     */
+    private void generarGota(byte tipo, float x, float y) {
+        if (mundoEcs != null) {
+            mundoEcs.crear(tipo, x, y);
+        } else {
+            objectManager.addGameObject(crearGota(tipo, x, y));
+        }
+    }
 
-        lastSpecialDropTime = TimeUtils.nanoTime();
+    /**
+     * Cada TipoGota pasa a ser un arquetipo: mismo tamaño y mismo id de
+     * tipo, con la caída como componente VELOCIDAD.
+     */
+    private void crearMundoEcs() {
+        mundoEcs = new MundoEcs();
+        int mascara = Componentes.POSICION | Componentes.VELOCIDAD
+                | Componentes.RECOLECTABLE | Componentes.SPRITE;
+        for (TipoGota tipo : tiposGota) {
+            mundoEcs.registrar(new Arquetipo(tipo.getId(), tipo.getNombre(), mascara,
+                    tipo.getAncho(), tipo.getAlto(), 0, VELOCIDAD_CAIDA_ECS, 0));
+            sistemaRender.setRegion(tipo.getId(), tipo.getRegion());
+        }
+        sistemaVida.setLimites(0, configuracion.getAnchoMundo(), -64, configuracion.getAltoMundo());
     }
 
     public boolean actualizarMovimiento(Tarro tarro) {
-        float deltaTime = Gdx.graphics.getDeltaTime();
-
-        // Actualizar maldición
-        if (maldicionActiva) {
-            tiempoMaldicionRestante -= deltaTime;
-            if (tiempoMaldicionRestante <= 0) {
-                maldicionActiva = false;
-                probabilidadGotaMala = PROBABILIDAD_NORMAL;
-                System.out.println("✅ Maldición terminada");
+        return actualizarMovimiento(tarro, Gdx.graphics.getDeltaTime());
+    }
+
+    /**
+     * Avanza la simulación un tick de 'deltaTime' segundos.
+     * Devuelve false si el tarro se quedó sin vidas.
+     */
+    public boolean actualizarMovimiento(Tarro tarro, float deltaTime) {
+        areasTarros.clear();
+        mascarasTarros.clear();
+        tarrosVivos.clear();
+        areasTarros.add(tarro.getArea());
+        mascarasTarros.add(tarro.getMascara());
+        tarrosVivos.add(tarro);
+
+        return actualizarGotas(deltaTime);
+    }
+
+    /**
+     * Variante multijugador (2-4 tarros): una sola consulta de recolección
+     * para todos los tarros vivos. Devuelve false cuando ya no queda ninguno.
+     */
+    public boolean actualizarMovimiento(Array<Tarro> tarros) {
+        return actualizarMovimiento(tarros, Gdx.graphics.getDeltaTime());
+    }
+
+    public boolean actualizarMovimiento(Array<Tarro> tarros, float deltaTime) {
+        areasTarros.clear();
+        mascarasTarros.clear();
+        tarrosVivos.clear();
+        for (Tarro tarro : tarros) {
+            if (tarro.getVidas() > 0) {
+                areasTarros.add(tarro.getArea());
+                mascarasTarros.add(tarro.getMascara());
+                tarrosVivos.add(tarro);
             }
         }
 
-        // Generar gotas normales cada 0.2s
-        if (TimeUtils.nanoTime() - lastDropTime > INTERVALO_GOTAS) {
-            if (maldicionActiva) {
-                // 💀 Durante la maldición, se triplica la cantidad de gotas
-                for (int i = 0; i < 2; i++) {
-                    crearGotaDeLluvia();
-                }
-            } else {
+        return actualizarGotas(deltaTime);
+    }
+
+    /**
+     * Efectos, generación y un tick de las gotas contra los colectores de
+     * 'tarrosVivos' / 'areasTarros'. Devuelve false si ya no queda ningún
+     * tarro con vidas.
+     */
+    private boolean actualizarGotas(float deltaTime) {
+        // Expirar efectos vencidos (maldición, etc.)
+        efectos.actualizar(deltaTime);
+
+        // Clima: fenómenos nuevos de vez en cuando; la grilla se rehace a baja frecuencia
+        if (climaActivo) {
+            tiempoDesdeFenomeno += deltaTime;
+            if (tiempoDesdeFenomeno > INTERVALO_FENOMENOS) {
+                generarFenomeno();
+                tiempoDesdeFenomeno = 0;
+            }
+        }
+        campoFuerzas.actualizar(deltaTime);
+
+        tiempoDesdeUltimaGota += deltaTime;
+        tiempoDesdeUltimaEspecial += deltaTime;
+
+        // Generar gotas normales cada 0.2s (los efectos multiplican la cantidad)
+        if (tiempoDesdeUltimaGota > INTERVALO_GOTAS) {
+            gotasPendientes += Math.min(efectos.getMultiplicadorGotas(), limiteMultiplicadorGotas);
+            while (gotasPendientes >= 1) {
                 crearGotaDeLluvia();
+                gotasPendientes -= 1;
             }
         }
 
         // Generar gotas especiales cada 10s
-        if (TimeUtils.nanoTime() - lastSpecialDropTime > INTERVALO_ESPECIALES) {
+        if (tiempoDesdeUltimaEspecial > INTERVALO_ESPECIALES) {
             crearGotaEspecial();
         }
 
-        // Actualizar movimiento
-        objectManager.updateAll(deltaTime);
-
-        // Detección de colisiones / recolecciones
-        CollectionManager.CollectionResult result =
-                collectionManager.collectInArea(tarro.getArea());
-
-        if (result.getItemsCollected() > 0) {
-            Array<Collectable> itemsColectados = result.getCollectedItems();
-
-            for (Collectable item : itemsColectados) {
-                if (item instanceof GotaMala) {
-                    tarro.dañar();
-                    if (tarro.getVidas() <= 0) return false;
-                } else if (item instanceof GotaBuena) {
-                    tarro.sumarPuntos(10);
-                    dropSound.play();
-                } else if (item instanceof GotaLimpieza) {
-                    tarro.sumarPuntos(20);
-                    eliminarTodasGotasMalas();
-                    dropSound.play();
-                } else if (item instanceof GotaMaldicion) {
-                    activarMaldicion(5f); // 💀 activa efecto por 5s
-                    dropSound.play();
-                }
+        boolean algunoVivo = mundoEcs != null ? tickEcs(deltaTime) : tickObjetos(deltaTime);
+        emitirSalpicaduras();
+        return algunoVivo;
+    }
+
+    /**
+     * Un fenómeno de viento al azar: ráfaga lateral, remolino o corriente
+     * ascendente, con intensidades que frenan o desvían las gotas sin
+     * llegar a detenerlas.
+     */
+    private void generarFenomeno() {
+        float ancho = configuracion.getAnchoMundo();
+        float alto = configuracion.getAltoMundo();
+        switch (MathUtils.random(2)) {
+            case 0:
+                campoFuerzas.agregarRafaga(MathUtils.randomSign() * MathUtils.random(80f, 160f), 0,
+                        MathUtils.random(3f, 6f));
+                break;
+            case 1:
+                campoFuerzas.agregarVortice(MathUtils.random(ancho), MathUtils.random(alto * 0.3f, alto),
+                        MathUtils.random(150f, 250f), MathUtils.randomSign() * MathUtils.random(60f, 100f),
+                        MathUtils.random(4f, 8f));
+                break;
+            default:
+                campoFuerzas.agregarCorrienteAscendente(MathUtils.random(ancho), MathUtils.random(80f, 160f),
+                        MathUtils.random(120f, 220f), MathUtils.random(4f, 8f));
+                break;
+        }
+    }
+
+    /**
+     * Movimiento, recolección y limpieza en una sola pasada del registro.
+     */
+    private boolean tickObjetos(float deltaTime) {
+        // Fuera de la vista las gotas se actualizan a menor frecuencia
+        if (hayRegionVisible) {
+            float margen = configuracion.getMargenActualizacion();
+            regionActiva.set(regionVisible.x - margen, regionVisible.y - margen,
+                    regionVisible.width + 2 * margen, regionVisible.height + 2 * margen);
+            objectManager.setActiveRegion(regionActiva, configuracion.getDivisorFueraDeVista() * factorDivisor);
+        } else {
+            objectManager.setActiveRegion(null, 1);
+        }
+
+        Array<CollectionResult> resultados = objectManager.tick(deltaTime, areasTarros, mascarasTarros);
+        if (fusionGotas) {
+            fusionarGotas();
+        }
+
+        boolean algunoVivo = false;
+        for (int i = 0; i < tarrosVivos.size; i++) {
+            if (aplicarRecoleccion(tarrosVivos.get(i), resultados.get(i))) {
+                algunoVivo = true;
             }
         }
+        return algunoVivo;
+    }
 
-        collectionManager.removeCollected();
-        objectManager.removeOutOfBounds(0, 800, -64, 480);
+    /**
+     * Une las gotas buenas que se tocan (más grandes, suman puntos) y las
+     * malas que se tocan (más pesadas: más daño y caída más rápida). Una
+     * gota absorbida queda inactiva y se descarta en el siguiente tick.
+     */
+    private void fusionarGotas() {
+        objectManager.findOverlappingPairs(paresVecinos);
+        int[] pares = paresVecinos.items;
+        for (int p = 0; p < paresVecinos.size; p += 2) {
+            GameObject a = objectManager.getGameObject(pares[p]);
+            GameObject b = objectManager.getGameObject(pares[p + 1]);
+            if (!a.isActive() || !b.isActive()) continue;
+
+            // el tipo decide: buenas y malas se fusionan (carga máxima > 1), las especiales no
+            if (a instanceof Gota && b instanceof Gota) {
+                ((Gota) a).absorber((Gota) b);
+            }
+        }
+    }
+
+    /**
+     * Sistemas ECS: movimiento, recolección y vida. Las recolecciones llegan
+     * como eventos (id de arquetipo + colector) y se aplican por tipo.
+     */
+    private boolean tickEcs(float deltaTime) {
+        recolecciones.limpiar();
+        salidas.limpiar();
+
+        sistemaMovimiento.actualizar(mundoEcs, deltaTime);
+        sistemaColision.actualizar(mundoEcs, areasTarros, recolecciones);
+        sistemaVida.actualizar(mundoEcs, deltaTime, salidas);
+
+        for (int e = 0; e < recolecciones.getCantidad(); e++) {
+            Tarro tarro = tarrosVivos.get(recolecciones.getDestino(e));
+            if (tarro.getVidas() <= 0) continue;
+
+            Arquetipo arquetipo = mundoEcs.getTabla(recolecciones.getArquetipo(e)).getArquetipo();
+            aplicarEfecto(tarro, arquetipo.getId(), valorBase(tiposGota[arquetipo.getId()]),
+                    recolecciones.getX(e) + arquetipo.getAncho() / 2,
+                    recolecciones.getY(e) + arquetipo.getAlto() / 2);
+        }
 
+        boolean algunoVivo = false;
+        for (int i = 0; i < tarrosVivos.size; i++) {
+            if (tarrosVivos.get(i).getVidas() > 0) algunoVivo = true;
+        }
+        return algunoVivo;
+    }
+
+    /**
+     * Aplica al tarro el efecto de cada gota que recogió.
+     * Devuelve false si el tarro se quedó sin vidas.
+     */
+    private boolean aplicarRecoleccion(Tarro tarro, CollectionResult result) {
+        for (int i = 0; i < result.getItemsCollected(); i++) {
+            Gota gota = (Gota) objectManager.get(result.getCollectedHandle(i));
+            int valor = gota.getTipo().getId() == TipoGota.MALA ? gota.getDanio() : gota.getPoints();
+            if (!aplicarEfecto(tarro, gota.getTipo().getId(), valor,
+                    gota.getMinX() + gota.getWidth() / 2, gota.getMinY() + gota.getHeight() / 2)) {
+                return false;
+            }
+        }
         return true;
     }
 
+    /**
+     * Efecto de recoger una gota del tipo indicado, centrada en (cx, cy).
+     * 'valor' son los puntos de una gota buena o el daño de una mala (mayor
+     * si se fusionó); los otros tipos lo ignoran. Común a ambos modos.
+     * Devuelve false si el tarro se quedó sin vidas.
+     */
+    private boolean aplicarEfecto(Tarro tarro, int tipo, int valor, float cx, float cy) {
+        emitirEfectoRecoleccion(tipo, cx, cy);
+        switch (tipo) {
+            case TipoGota.MALA:
+                tarro.dañar(valor);
+                return tarro.getVidas() > 0;
+            case TipoGota.BUENA:
+                tarro.sumarPuntos(valor);
+                dropSound.play();
+                break;
+            case TipoGota.LIMPIEZA:
+                tarro.sumarPuntos(tiposGota[TipoGota.LIMPIEZA].getPuntos());
+                eliminarTodasGotasMalas();
+                dropSound.play();
+                break;
+            case TipoGota.MALDICION:
+                activarMaldicion(tiposGota[TipoGota.MALDICION].getDuracionEfecto());
+                dropSound.play();
+                break;
+            default:
+                throw new IllegalArgumentException("Tipo de gota desconocido: " + tipo);
+        }
+        return true;
+    }
+
+    /**
+     * Salpicadura para las gotas que el último tick descartó al llegar al suelo.
+     */
+    private void emitirSalpicaduras() {
+        if (particulas == null) return;
+
+        if (mundoEcs != null) {
+            for (int e = 0; e < salidas.getCantidad(); e++) {
+                Arquetipo arquetipo = mundoEcs.getTabla(salidas.getArquetipo(e)).getArquetipo();
+                if (salidas.getY(e) + arquetipo.getAlto() < 0) {
+                    particulas.salpicadura(salidas.getX(e) + arquetipo.getAncho() / 2, 0);
+                }
+            }
+            return;
+        }
+
+        IntArray gotasFuera = objectManager.getRemovedOutOfBounds();
+        for (int i = 0; i < gotasFuera.size; i++) {
+            GameObject gota = objectManager.get(gotasFuera.get(i));
+            // Solo salpican las que llegaron al suelo
+            if (gota.getMaxY() < 0) {
+                particulas.salpicadura(gota.getMinX() + gota.getWidth() / 2, 0);
+            }
+        }
+    }
+
+    private void emitirEfectoRecoleccion(int tipo, float cx, float cy) {
+        if (particulas == null) return;
+
+        switch (tipo) {
+            case TipoGota.MALA: particulas.impactoMalo(cx, cy); break;
+            case TipoGota.LIMPIEZA: particulas.limpieza(cx, cy); break;
+            case TipoGota.MALDICION: particulas.maldicion(cx, cy); break;
+            default: particulas.recoleccion(cx, cy); break;
+        }
+    }
+
     /**
      * Elimina todas las gotas malas activas
      */
     private void eliminarTodasGotasMalas() {
+        if (mundoEcs != null) {
+            eliminarGotasMalasEcs();
+            return;
+        }
+
         Array<GameObject> objetos = objectManager.getGameObjects();
         int eliminadas = 0;
 
         for (GameObject obj : objetos) {
-            if (obj instanceof GotaMala && obj.isActive()) {
+            if (obj.isActive() && tipoDe(obj) == TipoGota.MALA) {
                 obj.setActive(false);
                 eliminadas++;
+                if (particulas != null) {
+                    particulas.limpieza(obj.getMinX() + obj.getWidth() / 2, obj.getMinY() + obj.getHeight() / 2);
+                }
+            }
+        }
+
+        GameLog.info("💥 ¡{} gotas malas eliminadas!", eliminadas);
+    }
+
+    private void eliminarGotasMalasEcs() {
+        TablaArquetipo malas = mundoEcs.getTabla(TipoGota.MALA);
+        int eliminadas = malas.getCantidad();
+        if (particulas != null) {
+            float medioAncho = malas.getArquetipo().getAncho() / 2;
+            float medioAlto = malas.getArquetipo().getAlto() / 2;
+            for (int i = 0; i < eliminadas; i++) {
+                particulas.limpieza(malas.x[i] + medioAncho, malas.y[i] + medioAlto);
             }
         }
+        mundoEcs.vaciar(TipoGota.MALA);
 
-        System.out.println("💥 ¡" + eliminadas + " gotas malas eliminadas!");
+        GameLog.info("💥 ¡{} gotas malas eliminadas!", eliminadas);
     }
 
     /**
      * Activa efecto de maldición
      */
     private void activarMaldicion(float duracion) {
-        maldicionActiva = true;
-        tiempoMaldicionRestante = duracion;
-        probabilidadGotaMala = 100;
-        System.out.println("💀 ¡MALDICIÓN ACTIVADA! Las gotas malas se triplican por " + duracion + "s");
+        efectos.aplicar(TipoEfecto.MALDICION, duracion);
+        GameLog.info("💀 ¡MALDICIÓN ACTIVADA! Las gotas malas se triplican por {}s", duracion);
     }
 
     public void actualizarDibujoLluvia(SpriteBatch batch) {
-        objectManager.renderAll(batch);
+        // Las partículas siguen animándose aunque la simulación esté detenida
+        if (particulas != null) {
+            particulas.actualizar(Gdx.graphics.getDeltaTime());
+        }
+        dibujarGotas(batch);
+    }
+
+    /**
+     * Dibuja gotas y partículas tal como están, sin avanzar nada (por
+     * ejemplo para capturar la imagen de la pausa).
+     */
+    public void dibujarGotas(SpriteBatch batch) {
+        if (mundoEcs != null) {
+            sistemaRender.dibujar(mundoEcs, batch, hayRegionVisible ? regionVisible : null);
+        } else if (hayRegionVisible) {
+            objectManager.renderAll(batch, regionVisible);
+        } else {
+            objectManager.renderAll(batch);
+        }
+
+        if (particulas != null) {
+            particulas.dibujar(batch);
+        }
+    }
+
+    /**
+     * Sistema de partículas para salpicaduras y efectos; null los desactiva.
+     */
+    public void setParticulas(SistemaParticulas particulas) {
+        this.particulas = particulas;
+    }
+
+    public SistemaParticulas getParticulas() {
+        return particulas;
+    }
+
+    /**
+     * Máscaras alfa para la colisión exacta con el tarro, una por tipo de
+     * gota (escaladas a 64x64). Debe llamarse antes de crear(); afecta solo
+     * al modo normal, el modo ECS sigue usando AABB.
+     */
+    public void setMascaras(MascaraAlfa buena, MascaraAlfa mala, MascaraAlfa limpieza, MascaraAlfa maldicion) {
+        mascarasGota[TipoGota.BUENA] = buena;
+        mascarasGota[TipoGota.MALA] = mala;
+        mascarasGota[TipoGota.LIMPIEZA] = limpieza;
+        mascarasGota[TipoGota.MALDICION] = maldicion;
+    }
+
+    /**
+     * Usa el motor ECS para las gotas en vez de objetos. Debe llamarse antes
+     * de crear(). En modo ECS getObjectManager() queda vacío.
+     */
+    public void setModoEcs(boolean modoEcs) {
+        this.modoEcs = modoEcs;
+    }
+
+    public boolean isModoEcs() {
+        return modoEcs;
+    }
+
+    /**
+     * Tope del multiplicador de gotas de los efectos (Float.MAX_VALUE = sin
+     * tope). Solo limita cuántas gotas se generan, no de qué tipo son.
+     */
+    public void setLimiteMultiplicadorGotas(float limite) {
+        if (limite < 1) {
+            throw new IllegalArgumentException("El tope debe ser al menos 1");
+        }
+        this.limiteMultiplicadorGotas = limite;
+    }
+
+    /**
+     * Multiplica el divisor de actualización fuera de la vista (1 = el de la configuración).
+     */
+    public void setFactorDivisor(int factor) {
+        if (factor < 1) {
+            throw new IllegalArgumentException("El factor debe ser al menos 1");
+        }
+        this.factorDivisor = factor;
+    }
+
+    /**
+     * Configura el tamaño del mundo. Debe llamarse antes de crear().
+     */
+    public void setConfiguracion(ConfiguracionMundo configuracion) {
+        if (configuracion == null) {
+            throw new IllegalArgumentException("La configuración no puede ser null");
+        }
+        this.configuracion = configuracion;
+    }
+
+    /**
+     * Activa los fenómenos de viento automáticos (uno cada INTERVALO_FENOMENOS
+     * segundos). Sin clima las gotas caen en línea recta salvo que se agreguen
+     * fenómenos a mano con getCampoFuerzas().
+     */
+    public void setClimaActivo(boolean climaActivo) {
+        this.climaActivo = climaActivo;
+    }
+
+    public boolean isClimaActivo() {
+        return climaActivo;
+    }
+
+    /**
+     * Obstáculos del nivel que desvían las gotas (ver CaidaConViento). La
+     * jerarquía se construye una vez por nivel; debe llamarse antes de
+     * crear(). Solo en modo objetos; en modo ECS las gotas los atraviesan.
+     */
+    public void setObstaculos(JerarquiaObstaculos obstaculos) {
+        this.obstaculos = obstaculos;
+    }
+
+    /**
+     * Activa la fusión de gotas superpuestas del mismo tipo (buenas con
+     * buenas, malas con malas). Solo en modo objetos; en modo ECS se ignora.
+     * Las gotas fusionadas se guardan en la partida con su carga.
+     */
+    public void setFusionGotas(boolean fusionGotas) {
+        this.fusionGotas = fusionGotas;
+    }
+
+    public boolean isFusionGotas() {
+        return fusionGotas;
+    }
+
+    /**
+     * Región que muestra la cámara este frame. Las gotas fuera de ella no se
+     * dibujan y se actualizan cada getDivisorFueraDeVista() ticks.
+     */
+    public void setRegionVisible(Rectangle region) {
+        if (region == null) {
+            hayRegionVisible = false;
+        } else {
+            regionVisible.set(region);
+            hayRegionVisible = true;
+        }
     }
 
     // ===== GETTERS =====
 
+    public CampoFuerzas getCampoFuerzas() {
+        return campoFuerzas;
+    }
+
     public int getCantidadGotasActivas() {
-        return objectManager.getActiveCount();
+        return mundoEcs != null ? mundoEcs.getCantidad() : objectManager.getActiveCount();
     }
 
     public boolean estaMaldicionActiva() {
-        return maldicionActiva;
+        return efectos.estaActivo(TipoEfecto.MALDICION);
     }
 
     public float getTiempoMaldicionRestante() {
-        return tiempoMaldicionRestante;
+        return efectos.getTiempoRestante(TipoEfecto.MALDICION);
     }
 
     public int getProbabilidadGotaMala() {
-        return probabilidadGotaMala;
+        return efectos.getProbabilidadGotaMala(PROBABILIDAD_NORMAL);
+    }
+
+    public ProgramadorEfectos getEfectos() {
+        return efectos;
     }
 
     public GameObjectManager getObjectManager() {
         return objectManager;
     }
 
-    public CollectionManager getCollectionManager() {
-        return collectionManager;
+    /**
+     * Mundo ECS de las gotas, o null si no se usa el modo ECS.
+     */
+    public MundoEcs getMundoEcs() {
+        return mundoEcs;
+    }
+
+    // ===== INSTANTÁNEAS =====
+
+    /**
+     * Copia tipo, posición y tamaño de las gotas activas en 'inst' (modo con
+     * hilo de simulación). Debe llamarse desde el hilo que simula.
+     */
+    void escribirInstantanea(InstantaneaMundo inst) {
+        inst.limpiarGotas();
+        if (mundoEcs != null) {
+            for (TablaArquetipo tabla : mundoEcs.getTablas()) {
+                Arquetipo arquetipo = tabla.getArquetipo();
+                byte tipo = (byte) arquetipo.getId();
+                for (int i = 0; i < tabla.getCantidad(); i++) {
+                    inst.agregarGota(tipo, tabla.x[i], tabla.y[i], arquetipo.getAncho(), arquetipo.getAlto());
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < objectManager.getTotalCount(); i++) {
+            GameObject gota = objectManager.getGameObject(i);
+            if (gota.isActive()) {
+                inst.agregarGota(tipoDe(gota), gota.getX(), gota.getY(), gota.getWidth(), gota.getHeight());
+            }
+        }
+    }
+
+    /**
+     * Region de un tipo de gota de las instantáneas (InstantaneaMundo.getTipo).
+     */
+    public TextureRegion getRegionGota(byte tipo) {
+        if (tipo < 0 || tipo >= TipoGota.CANTIDAD) {
+            throw new IllegalArgumentException("Tipo de gota desconocido: " + tipo);
+        }
+        return tiposGota[tipo].getRegion();
+    }
+
+    /**
+     * Descriptor compartido de un tipo de gota. Disponible después de crear().
+     */
+    public TipoGota getTipoGota(byte tipo) {
+        return tiposGota[tipo];
+    }
+
+    /**
+     * Escribe el estado de la simulación: temporizadores, maldición y las
+     * gotas activas (tipo + carga + posición). Las partículas no se guardan.
+     */
+    public void escribirEstado(DataOutput out) throws IOException {
+        out.writeFloat(tiempoDesdeUltimaGota);
+        out.writeFloat(tiempoDesdeUltimaEspecial);
+        out.writeFloat(gotasPendientes);
+        efectos.escribirEstado(out);
+
+        if (mundoEcs != null) {
+            out.writeInt(mundoEcs.getCantidad());
+            for (TablaArquetipo tabla : mundoEcs.getTablas()) {
+                for (int i = 0; i < tabla.getCantidad(); i++) {
+                    out.writeByte(tabla.getArquetipo().getId());
+                    out.writeByte(1);
+                    out.writeFloat(tabla.x[i]);
+                    out.writeFloat(tabla.y[i]);
+                }
+            }
+            return;
+        }
+
+        Array<GameObject> gotas = objectManager.getGameObjects();
+        int cantidad = 0;
+        for (GameObject gota : gotas) {
+            if (seGuarda(gota)) cantidad++;
+        }
+
+        out.writeInt(cantidad);
+        for (GameObject gota : gotas) {
+            if (!seGuarda(gota)) continue;
+            out.writeByte(tipoDe(gota));
+            out.writeByte(((Gota) gota).getCarga());
+            out.writeFloat(gota.getX());
+            out.writeFloat(gota.getY());
+        }
+    }
+
+    /**
+     * Reemplaza el estado actual por el leído. Requiere haber llamado a crear().
+     */
+    public void leerEstado(DataInput in) throws IOException {
+        tiempoDesdeUltimaGota = in.readFloat();
+        tiempoDesdeUltimaEspecial = in.readFloat();
+        gotasPendientes = in.readFloat();
+        efectos.leerEstado(in);
+
+        objectManager.clear();
+        if (mundoEcs != null) mundoEcs.limpiar();
+        if (particulas != null) particulas.limpiar();
+
+        int cantidad = in.readInt();
+        for (int i = 0; i < cantidad; i++) {
+            byte tipo = in.readByte();
+            byte carga = in.readByte();
+            float x = in.readFloat();
+            float y = in.readFloat();
+            if (mundoEcs != null || carga == 1) {
+                // en modo ECS no hay fusion: una gota fusionada vuelve con su valor base
+                generarGota(tipo, x, y);
+            } else {
+                Gota gota = (Gota) crearGota(tipo, x, y);
+                gota.setCarga(carga);
+                objectManager.addGameObject(gota);
+            }
+        }
+    }
+
+    private boolean seGuarda(GameObject gota) {
+        return gota.isActive()
+                && !gota.isOutOfBounds(0, configuracion.getAnchoMundo(), -64, configuracion.getAltoMundo());
+    }
+
+    /**
+     * Valor de una gota sin fusionar (las del modo ECS nunca se fusionan).
+     */
+    private static int valorBase(TipoGota tipo) {
+        return tipo.getId() == TipoGota.MALA ? tipo.getDanio() : tipo.getPuntos();
+    }
+
+    private static byte tipoDe(GameObject gota) {
+        return ((Gota) gota).getTipo().getId();
     }
 
     // ===== MÉTODOS DE CICLO DE VIDA =====
@@ -270,7 +902,7 @@ public class Lluvia {
         dropSound.dispose();
         rainMusic.dispose();
         if (objectManager != null) objectManager.dispose();
-        if (collectionManager != null) collectionManager.reset();
+        mundoEcs = null;
         instance = null;
     }
 
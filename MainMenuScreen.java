@@ -1,11 +1,14 @@
 package puppy.code;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
 
 
 public class MainMenuScreen implements Screen {
@@ -14,13 +17,34 @@ public class MainMenuScreen implements Screen {
 	private SpriteBatch batch;
 	private BitmapFont font;
 	private OrthographicCamera camera;
+	private Viewport viewport;
+
+	// solo cuenta un toque que empieza y termina en esta pantalla, como en
+	// PausaScreen y GameOverScreen
+	private boolean tocado;
+	private boolean comenzar;
+	private final InputAdapter entrada = new InputAdapter() {
+		@Override
+		public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+			tocado = true;
+			return true;
+		}
+
+		@Override
+		public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+			if (tocado) comenzar = true;
+			return true;
+		}
+	};
 
 	public MainMenuScreen(final GameLluviaMenu game) {
 		this.game = game;
         this.batch = game.getBatch();
         this.font = game.getFont();
 		camera = new OrthographicCamera();
-		camera.setToOrtho(false, 800, 480);
+		ConfiguracionMundo configuracion = game.getConfiguracion();
+		camera.setToOrtho(false, configuracion.getAnchoVista(), configuracion.getAltoVista());
+		viewport = configuracion.crearViewport(camera);
 	}
 
 	@Override
@@ -33,26 +57,34 @@ public class MainMenuScreen implements Screen {
 		batch.begin();
 		font.getData().setScale(2, 2);
 		font.draw(batch, "Bienvenido a Día de Tormenta!!! ", 100, camera.viewportHeight/2+50);
-		font.draw(batch, "Toca en cualquier lugar para comenzar!", 100, camera.viewportHeight/2-50);
+		// el aviso parpadea; es la unica animacion, a 2 cuadros por segundo
+		if ((TimeUtils.millis() / 500) % 2 == 0) {
+			font.draw(batch, "Toca en cualquier lugar para comenzar!", 100, camera.viewportHeight/2-50);
+		}
 
 		batch.end();
+		PoliticaRender.MENU.pedirCuadro();
 
-		if (Gdx.input.isTouched()) {
-			game.setScreen(new GameScreen(game));
+		if (comenzar) {
+			// continuar la partida guardada al pausar, si existe
+			SnapshotPartida partida = GameScreen.hayPartidaGuardada() ? GameScreen.cargarPartidaGuardada() : null;
+			game.setScreen(new GameScreen(game, partida));
 			dispose();
 		}
 	}
 
 	@Override
 	public void show() {
-		// TODO Auto-generated method stub
-		
+		tocado = false;
+		comenzar = false;
+		Gdx.input.setInputProcessor(entrada);
+		PoliticaRender.MENU.aplicar();
 	}
 
 	@Override
 	public void resize(int width, int height) {
-		// TODO Auto-generated method stub
-		
+		viewport.update(width, height, true);
+		PoliticaRender.MENU.redibujar();
 	}
 
 	@Override
@@ -69,8 +101,8 @@ public class MainMenuScreen implements Screen {
 
 	@Override
 	public void hide() {
-		// TODO Auto-generated method stub
-		
+		Gdx.input.setInputProcessor(null);
+		PoliticaRender.MENU.detener();
 	}
 
 	@Override
@@ -0,0 +1,146 @@
+package com.mygame.rain.entities;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+
+/**
+ * Mascara de colision de un sprite: un bit por pixel opaco, empaquetado en
+ * long[] por filas (64 columnas por long). Se construye una vez al cargar
+ * la textura, ya escalada al tamaño con que se dibuja el objeto, y la fila
+ * 0 es la de abajo (y del mundo hacia arriba).
+ *
+ * superpone() es la fase fina: se llama solo despues de que los AABB se
+ * tocan y compara las filas comunes con AND de palabras desplazadas, 64
+ * pixeles por operacion.
+ */
+public final class MascaraAlfa {
+
+    public static final int UMBRAL_POR_DEFECTO = 32;
+
+    private final int ancho;
+    private final int alto;
+    private final int palabrasPorFila;
+    private final long[] bits;
+
+    private MascaraAlfa(int ancho, int alto) {
+        if (ancho <= 0 || alto <= 0) {
+            throw new IllegalArgumentException("Ancho y alto deben ser positivos");
+        }
+        this.ancho = ancho;
+        this.alto = alto;
+        this.palabrasPorFila = (ancho + 63) >>> 6;
+        this.bits = new long[palabrasPorFila * alto];
+    }
+
+    /**
+     * Mascara del pixmap escalado (vecino mas cercano) a ancho x alto. Un
+     * pixel cuenta si su alfa es al menos 'umbralAlfa' (0..255).
+     */
+    public static MascaraAlfa desdePixmap(Pixmap pixmap, int ancho, int alto, int umbralAlfa) {
+        return desdePixmap(pixmap, 0, 0, pixmap.getWidth(), pixmap.getHeight(), ancho, alto, umbralAlfa);
+    }
+
+    /**
+     * Mascara del rectangulo (rx, ry, rw, rh) del pixmap, medido desde su
+     * esquina superior izquierda: la region de un sprite en una pagina de atlas.
+     */
+    public static MascaraAlfa desdePixmap(Pixmap pixmap, int rx, int ry, int rw, int rh,
+                                          int ancho, int alto, int umbralAlfa) {
+        MascaraAlfa mascara = new MascaraAlfa(ancho, alto);
+        for (int fila = 0; fila < alto; fila++) {
+            // el pixmap tiene la fila 0 arriba
+            int py = ry + rh - 1 - (int) ((fila + 0.5f) * rh / alto);
+            for (int col = 0; col < ancho; col++) {
+                int px = rx + (int) ((col + 0.5f) * rw / ancho);
+                if ((pixmap.getPixel(px, py) & 0xff) >= umbralAlfa) {
+                    mascara.bits[fila * mascara.palabrasPorFila + (col >>> 6)] |= 1L << (col & 63);
+                }
+            }
+        }
+        return mascara;
+    }
+
+    public static MascaraAlfa desdeArchivo(FileHandle archivo, int ancho, int alto) {
+        Pixmap pixmap = new Pixmap(archivo);
+        try {
+            return desdePixmap(pixmap, ancho, alto, UMBRAL_POR_DEFECTO);
+        } finally {
+            pixmap.dispose();
+        }
+    }
+
+    /**
+     * Mascara completamente opaca (equivale a usar solo el AABB).
+     */
+    public static MascaraAlfa llena(int ancho, int alto) {
+        MascaraAlfa mascara = new MascaraAlfa(ancho, alto);
+        for (int fila = 0; fila < alto; fila++) {
+            for (int col = 0; col < ancho; col++) {
+                mascara.bits[fila * mascara.palabrasPorFila + (col >>> 6)] |= 1L << (col & 63);
+            }
+        }
+        return mascara;
+    }
+
+    /**
+     * true si algun pixel opaco de esta mascara, con su esquina inferior
+     * izquierda en (x, y), coincide con uno de 'otra' puesta en (ox, oy).
+     * Las posiciones se redondean al pixel.
+     */
+    public boolean superpone(float x, float y, MascaraAlfa otra, float ox, float oy) {
+        int dx = Math.round(ox - x);
+        int dy = Math.round(oy - y);
+
+        // filas de esta mascara que tambien cubre la otra
+        int filaDesde = Math.max(0, dy);
+        int filaHasta = Math.min(alto, dy + otra.alto);
+        if (filaDesde >= filaHasta) return false;
+
+        // palabras de esta mascara con columnas comunes
+        int colDesde = Math.max(0, dx);
+        int colHasta = Math.min(ancho, dx + otra.ancho);
+        if (colDesde >= colHasta) return false;
+        int palabraDesde = colDesde >>> 6;
+        int palabraHasta = (colHasta - 1) >>> 6;
+
+        for (int fila = filaDesde; fila < filaHasta; fila++) {
+            int base = fila * palabrasPorFila;
+            int baseOtra = (fila - dy) * otra.palabrasPorFila;
+            for (int w = palabraDesde; w <= palabraHasta; w++) {
+                long propia = bits[base + w];
+                if (propia == 0) continue;
+                if ((propia & otra.palabraAlineada(baseOtra, (w << 6) - dx)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 64 bits de una fila de esta mascara empezando en la columna 'col'
+     * (puede ser negativa o pasar del ancho; fuera de la fila se leen ceros).
+     */
+    private long palabraAlineada(int baseFila, int col) {
+        int palabra = Math.floorDiv(col, 64);
+        int resto = Math.floorMod(col, 64);
+        long baja = palabra(baseFila, palabra) >>> resto;
+        if (resto == 0) return baja;
+        return baja | (palabra(baseFila, palabra + 1) << (64 - resto));
+    }
+
+    private long palabra(int baseFila, int indice) {
+        return indice >= 0 && indice < palabrasPorFila ? bits[baseFila + indice] : 0L;
+    }
+
+    public int getAncho() { return ancho; }
+    public int getAlto() { return alto; }
+
+    public int contarOpacos() {
+        int total = 0;
+        for (long palabra : bits) {
+            total += Long.bitCount(palabra);
+        }
+        return total;
+    }
+}
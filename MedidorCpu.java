@@ -0,0 +1,91 @@
+package com.mygame.rain.diagnostico;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * Mide el uso de CPU del proceso por tramos (una pantalla, por ejemplo):
+ * tiempo de CPU consumido / tiempo real transcurrido, expresado como
+ * porcentaje de un nucleo, mas los cuadros dibujados en el tramo.
+ *
+ * Usa com.sun.management.OperatingSystemMXBean; donde no existe (Android)
+ * queda desactivado y solo cuenta cuadros.
+ */
+public class MedidorCpu {
+
+    private final OperatingSystemMXBean sistema;
+    private final boolean disponible;
+
+    private String etiqueta;
+    private long inicioCpuNanos;
+    private long inicioRealNanos;
+    private long cuadros;
+    private float ultimoPorcentaje = -1;
+
+    private final StringBuilder historial = new StringBuilder(256);
+
+    public MedidorCpu() {
+        OperatingSystemMXBean bean = null;
+        try {
+            bean = ManagementFactory.getOperatingSystemMXBean();
+        } catch (Throwable e) {
+            // sin java.lang.management (Android)
+        }
+        this.sistema = bean;
+        this.disponible = tiempoCpu() >= 0;
+    }
+
+    public void iniciar(String etiqueta) {
+        this.etiqueta = etiqueta;
+        this.inicioCpuNanos = tiempoCpu();
+        this.inicioRealNanos = System.nanoTime();
+        this.cuadros = 0;
+    }
+
+    public void contarCuadro() {
+        cuadros++;
+    }
+
+    /**
+     * Cierra el tramo actual y devuelve su linea de reporte (null si no hay tramo).
+     */
+    public String terminar() {
+        if (etiqueta == null) return null;
+
+        double segundos = (System.nanoTime() - inicioRealNanos) / 1e9;
+        String linea;
+        if (disponible && segundos > 0) {
+            ultimoPorcentaje = (float) (100.0 * (tiempoCpu() - inicioCpuNanos) / 1e9 / segundos);
+            linea = String.format("%s: %.1f%% de un nucleo, %.1f s, %d cuadros (%.1f fps)",
+                    etiqueta, ultimoPorcentaje, segundos, cuadros, cuadros / segundos);
+        } else {
+            linea = String.format("%s: CPU no disponible, %.1f s, %d cuadros",
+                    etiqueta, segundos, cuadros);
+        }
+        historial.append(linea).append('\n');
+        etiqueta = null;
+        return linea;
+    }
+
+    /**
+     * Porcentaje de un nucleo del ultimo tramo terminado (-1 si no se pudo medir).
+     */
+    public float getUltimoPorcentaje() {
+        return ultimoPorcentaje;
+    }
+
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    public String getReporte() {
+        return "=== CPU por pantalla ===\n" + historial;
+    }
+
+    private long tiempoCpu() {
+        if (sistema instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) sistema).getProcessCpuTime();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.mygame.rain.diagnostico;
+
+import com.mygame.rain.input.FrameEntrada;
+
+/**
+ * Mide la latencia entrada-imagen del tarro en tres tramos:
+ * evento físico -> tick que lo consume -> frame que muestra la nueva
+ * posición del tarro.
+ *
+ * Se sigue un evento a la vez: si llegan más eventos antes de que se
+ * presente el frame del primero, se ignoran (la latencia del primero es
+ * la que el jugador percibe).
+ *
+ * Con -Dlluvia.hiloSimulacion el consumo ocurre en el hilo de simulacion:
+ * este lo anota en la instantanea y el render lo registra aqui al tomarla
+ * (ver registrarConsumo(long, long, long)). Todas las llamadas son del
+ * hilo de render.
+ */
+public class MedidorLatencia {
+
+    private final HistogramaLatencia eventoATick = new HistogramaLatencia("evento->tick");
+    private final HistogramaLatencia tickAFrame = new HistogramaLatencia("tick->frame");
+    private final HistogramaLatencia eventoAFrame = new HistogramaLatencia("evento->frame");
+
+    private boolean pendiente;
+    private long eventoPendiente;
+    private long tickPendiente;
+    private long numeroTickPendiente;
+    // un evento se anota una sola vez aunque varias instantaneas lo repitan
+    private long ultimoTickConsumido = Long.MIN_VALUE;
+
+    /**
+     * Llamar cuando un tick aplica la entrada al tarro.
+     */
+    public void registrarConsumo(FrameEntrada frame, long tiempoTickNanos) {
+        if (!frame.hayEvento()) return;
+        registrarConsumo(frame.getTick(), frame.getTiempoEventoNanos(), tiempoTickNanos);
+    }
+
+    /**
+     * Igual que registrarConsumo(FrameEntrada, long) con los datos ya
+     * extraidos del frame (modo con hilo de simulacion).
+     */
+    public void registrarConsumo(long numeroTick, long tiempoEventoNanos, long tiempoTickNanos) {
+        if (pendiente || numeroTick <= ultimoTickConsumido) return;
+        pendiente = true;
+        ultimoTickConsumido = numeroTick;
+        eventoPendiente = tiempoEventoNanos;
+        tickPendiente = tiempoTickNanos;
+        numeroTickPendiente = numeroTick;
+    }
+
+    /**
+     * Llamar cuando se presenta un frame que muestra el resultado de los
+     * ticks hasta 'ultimoTickMostrado' inclusive.
+     */
+    public void registrarPresentacion(long ultimoTickMostrado, long tiempoFrameNanos) {
+        if (!pendiente || ultimoTickMostrado < numeroTickPendiente) return;
+        eventoATick.registrar(tickPendiente - eventoPendiente);
+        tickAFrame.registrar(tiempoFrameNanos - tickPendiente);
+        eventoAFrame.registrar(tiempoFrameNanos - eventoPendiente);
+        pendiente = false;
+    }
+
+    public HistogramaLatencia getEventoATick() { return eventoATick; }
+    public HistogramaLatencia getTickAFrame() { return tickAFrame; }
+    public HistogramaLatencia getEventoAFrame() { return eventoAFrame; }
+
+    public void reiniciar() {
+        eventoATick.reiniciar();
+        tickAFrame.reiniciar();
+        eventoAFrame.reiniciar();
+        pendiente = false;
+    }
+
+    public String getReporte() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("=== Latencia entrada-imagen ===\n");
+        eventoATick.escribirReporte(sb);
+        tickAFrame.escribirReporte(sb);
+        eventoAFrame.escribirReporte(sb);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.mygame.rain.ecs;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Mundo del modo ECS: una tabla por arquetipo registrado y consultas por
+ * mascara de componentes. Los sistemas piden las tablas que tienen los
+ * componentes que usan y recorren sus arreglos directamente.
+ *
+ * Pensado para muchas entidades simples (gotas, particulas): no hay
+ * objetos por entidad y agregar o quitar una fila es O(1).
+ */
+public class MundoEcs {
+
+    public static final int MAX_ARQUETIPOS = 32;
+
+    private final TablaArquetipo[] tablas = new TablaArquetipo[MAX_ARQUETIPOS];
+    private final Array<TablaArquetipo> registradas = new Array<>(false, MAX_ARQUETIPOS, TablaArquetipo.class);
+    private final int capacidadInicial;
+
+    // Resultados de consultar(), cacheados por mascara
+    private final int[] mascarasConsultadas = new int[MAX_ARQUETIPOS];
+    private final Array<Array<TablaArquetipo>> resultadosConsultas = new Array<>();
+
+    public MundoEcs(int capacidadInicial) {
+        this.capacidadInicial = capacidadInicial;
+    }
+
+    public MundoEcs() {
+        this(256);
+    }
+
+    public void registrar(Arquetipo arquetipo) {
+        if (tablas[arquetipo.getId()] != null) {
+            throw new IllegalArgumentException("Arquetipo ya registrado: " + arquetipo.getId());
+        }
+        TablaArquetipo tabla = new TablaArquetipo(arquetipo, capacidadInicial);
+        tablas[arquetipo.getId()] = tabla;
+        registradas.add(tabla);
+        resultadosConsultas.clear();
+    }
+
+    /**
+     * Crea una entidad del arquetipo en (x, y). Devuelve su fila en la
+     * tabla, valida solo hasta el proximo cambio de esa tabla.
+     */
+    public int crear(int idArquetipo, float x, float y) {
+        return getTabla(idArquetipo).agregar(x, y);
+    }
+
+    public void quitar(int idArquetipo, int fila) {
+        TablaArquetipo tabla = getTabla(idArquetipo);
+        if (fila < 0 || fila >= tabla.cantidad) {
+            throw new IllegalArgumentException("Fila fuera de rango: " + fila);
+        }
+        tabla.quitar(fila);
+    }
+
+    public void vaciar(int idArquetipo) {
+        getTabla(idArquetipo).limpiar();
+    }
+
+    /**
+     * Tablas cuyos arquetipos tienen todos los componentes de la mascara.
+     * El arreglo devuelto es interno y se reutiliza: no modificarlo.
+     */
+    public Array<TablaArquetipo> consultar(int mascara) {
+        for (int i = 0; i < resultadosConsultas.size; i++) {
+            if (mascarasConsultadas[i] == mascara) {
+                return resultadosConsultas.get(i);
+            }
+        }
+
+        Array<TablaArquetipo> resultado = new Array<>(false, registradas.size, TablaArquetipo.class);
+        for (TablaArquetipo tabla : registradas) {
+            if (tabla.getArquetipo().tiene(mascara)) {
+                resultado.add(tabla);
+            }
+        }
+        if (resultadosConsultas.size < MAX_ARQUETIPOS) {
+            mascarasConsultadas[resultadosConsultas.size] = mascara;
+            resultadosConsultas.add(resultado);
+        }
+        return resultado;
+    }
+
+    public TablaArquetipo getTabla(int idArquetipo) {
+        TablaArquetipo tabla = idArquetipo >= 0 && idArquetipo < MAX_ARQUETIPOS ? tablas[idArquetipo] : null;
+        if (tabla == null) {
+            throw new IllegalArgumentException("Arquetipo no registrado: " + idArquetipo);
+        }
+        return tabla;
+    }
+
+    public int getCantidad() {
+        int total = 0;
+        for (TablaArquetipo tabla : registradas) {
+            total += tabla.cantidad;
+        }
+        return total;
+    }
+
+    public int getCantidad(int idArquetipo) {
+        return getTabla(idArquetipo).cantidad;
+    }
+
+    public Array<TablaArquetipo> getTablas() {
+        return registradas;
+    }
+
+    public void limpiar() {
+        for (TablaArquetipo tabla : registradas) {
+            tabla.limpiar();
+        }
+    }
+}
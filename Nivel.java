@@ -0,0 +1,67 @@
+package com.mygame.rain.nivel;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Obstaculos estaticos de un nivel y su jerarquia, construida una sola vez
+ * al crear el nivel.
+ */
+public class Nivel {
+
+    private static final Color COLOR_TECHO = new Color(0.45f, 0.3f, 0.2f, 1f);
+    private static final Color COLOR_PARAGUAS = new Color(0.85f, 0.2f, 0.25f, 1f);
+
+    private final String nombre;
+    private final Array<Obstaculo> obstaculos;
+    private final JerarquiaObstaculos jerarquia;
+
+    public Nivel(String nombre, Array<Obstaculo> obstaculos) {
+        if (obstaculos == null) {
+            throw new IllegalArgumentException("La lista de obstaculos no puede ser null");
+        }
+        this.nombre = nombre;
+        this.obstaculos = new Array<>(obstaculos);
+        this.jerarquia = new JerarquiaObstaculos(this.obstaculos);
+    }
+
+    /**
+     * Nivel sin obstaculos (la lluvia cae hasta el suelo).
+     */
+    public static Nivel vacio() {
+        return new Nivel("vacio", new Array<Obstaculo>());
+    }
+
+    /**
+     * Un techo y un par de paraguas repartidos a lo ancho del mundo, por
+     * encima del tarro para que pueda refugiarse debajo.
+     */
+    public static Nivel porDefecto(float anchoMundo, float altoMundo) {
+        Array<Obstaculo> lista = new Array<>();
+        float altura = altoMundo * 0.45f;
+        for (float x = anchoMundo / 4; x < anchoMundo; x += anchoMundo / 2) {
+            lista.add(Obstaculo.paraguas(x, altura, 120));
+        }
+        lista.add(Obstaculo.techo(anchoMundo / 2 - 80, altoMundo * 0.6f, 160));
+        return new Nivel("por defecto", lista);
+    }
+
+    /**
+     * Dibuja cada obstaculo como un rectangulo de color con la region
+     * blanca 'pixel'.
+     */
+    public void dibujar(SpriteBatch batch, TextureRegion pixel) {
+        float anterior = batch.getPackedColor();
+        for (Obstaculo o : obstaculos) {
+            batch.setColor(o.getRespuesta() == Obstaculo.REBOTAR ? COLOR_PARAGUAS : COLOR_TECHO);
+            batch.draw(pixel, o.getX(), o.getY(), o.getAncho(), o.getAlto());
+        }
+        batch.setPackedColor(anterior);
+    }
+
+    public String getNombre() { return nombre; }
+    public Array<Obstaculo> getObstaculos() { return obstaculos; }
+    public JerarquiaObstaculos getJerarquia() { return jerarquia; }
+}
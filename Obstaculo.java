@@ -0,0 +1,47 @@
+package com.mygame.rain.nivel;
+
+/**
+ * Geometria estatica del nivel: un rectangulo que las gotas no atraviesan.
+ * Las gotas que caen sobre un techo (DESLIZAR) se escurren hacia el borde
+ * mas cercano; las que caen sobre un paraguas (REBOTAR) saltan hacia afuera.
+ */
+public final class Obstaculo {
+
+    public static final int DESLIZAR = 0;
+    public static final int REBOTAR = 1;
+
+    private final float x;
+    private final float y;
+    private final float ancho;
+    private final float alto;
+    private final int respuesta;
+
+    public Obstaculo(float x, float y, float ancho, float alto, int respuesta) {
+        if (ancho <= 0 || alto <= 0) {
+            throw new IllegalArgumentException("Ancho y alto deben ser positivos");
+        }
+        if (respuesta != DESLIZAR && respuesta != REBOTAR) {
+            throw new IllegalArgumentException("Respuesta desconocida: " + respuesta);
+        }
+        this.x = x;
+        this.y = y;
+        this.ancho = ancho;
+        this.alto = alto;
+        this.respuesta = respuesta;
+    }
+
+    public static Obstaculo techo(float x, float y, float ancho) {
+        return new Obstaculo(x, y, ancho, 16, DESLIZAR);
+    }
+
+    public static Obstaculo paraguas(float centroX, float y, float ancho) {
+        return new Obstaculo(centroX - ancho / 2, y, ancho, 12, REBOTAR);
+    }
+
+    public float getX() { return x; }
+    public float getY() { return y; }
+    public float getAncho() { return ancho; }
+    public float getAlto() { return alto; }
+    public float getCentroX() { return x + ancho / 2; }
+    public int getRespuesta() { return respuesta; }
+}
@@ -1,20 +1,63 @@
 package puppy.code;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.utils.ScreenUtils;
-
-
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+
+/**
+ * Pantalla de pausa. GameScreen crea una sola instancia y la reutiliza en
+ * cada pausa.
+ *
+ * Al pausar se dibuja una vez la escena del juego en un FrameBuffer (del
+ * tamaño de la vista) y luego cada frame solo se dibuja esa imagen
+ * oscurecida y el texto. Se continua al soltar un toque que empezo durante
+ * la pausa, por evento, para que ese mismo toque no llegue al juego como
+ * arrastre del tarro. Mientras tanto el renderizado no es continuo: solo se
+ * redibuja con entrada o al cambiar el tamaño de la ventana.
+ */
 public class PausaScreen implements Screen {
 
+	private static final float OSCURECER = 0.45f;
+
 	private final GameLluviaMenu game;
 	private GameScreen juego;
 	private SpriteBatch batch;	   
 	private BitmapFont font;
 	private OrthographicCamera camera;
+	private Viewport viewport;
+	private final float ancho;
+	private final float alto;
+
+	private FrameBuffer captura;
+	private TextureRegion imagenCaptura;
+	private final Texture pixel;
+
+	private boolean tocado;
+	private boolean continuar;
+	private final InputAdapter entrada = new InputAdapter() {
+		@Override
+		public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+			tocado = true;
+			return true;
+		}
+
+		@Override
+		public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+			if (tocado) continuar = true;
+			return true;
+		}
+	};
 
 	public PausaScreen (final GameLluviaMenu game, GameScreen juego) {
 		this.game = game;
@@ -22,37 +65,69 @@ public class PausaScreen implements Screen {
         this.batch = game.getBatch();
         this.font = game.getFont();
 		camera = new OrthographicCamera();
-		camera.setToOrtho(false, 800, 480);
+		ConfiguracionMundo configuracion = game.getConfiguracion();
+		ancho = configuracion.getAnchoVista();
+		alto = configuracion.getAltoVista();
+		camera.setToOrtho(false, ancho, alto);
+		viewport = configuracion.crearViewport(camera);
+
+		Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+		pixmap.setColor(Color.WHITE);
+		pixmap.fill();
+		pixel = new Texture(pixmap);
+		pixmap.dispose();
+	}
+
+	/**
+	 * Dibuja la escena actual del juego en el FrameBuffer. Llamar una vez
+	 * antes de mostrar la pausa; el FrameBuffer se crea la primera vez.
+	 */
+	public void capturar() {
+		if (captura == null) {
+			captura = new FrameBuffer(Pixmap.Format.RGB888, (int) ancho, (int) alto, false);
+			imagenCaptura = new TextureRegion(captura.getColorBufferTexture());
+			imagenCaptura.flip(false, true);
+		}
+		captura.begin();
+		juego.dibujarEscena();
+		captura.end();
 	}
 
 	@Override
 	public void render(float delta) {
-		ScreenUtils.clear(0, 0, 1.0f, 0.5f);
-
+		ScreenUtils.clear(0, 0, 0, 1);
+		viewport.apply();
 		camera.update();
 		batch.setProjectionMatrix(camera.combined);
 
 		batch.begin();
+		if (imagenCaptura != null) {
+			batch.draw(imagenCaptura, 0, 0, ancho, alto);
+		}
+		batch.setColor(0, 0, 0, OSCURECER);
+		batch.draw(pixel, 0, 0, ancho, alto);
+		batch.setColor(Color.WHITE);
 		font.draw(batch, "PAUSE ", 100, 150);
 		font.draw(batch, "Haz click en cualquier lado para continuar !!!", 100, 100);
 		batch.end();
 
-		if (Gdx.input.isTouched()) {
+		if (continuar) {
 			game.setScreen(juego);
-			dispose();
 		}
 	}
 
 	@Override
 	public void show() {
-		// TODO Auto-generated method stub
-		
+		tocado = false;
+		continuar = false;
+		Gdx.input.setInputProcessor(entrada);
+		PoliticaRender.ESTATICA.aplicar();
 	}
 
 	@Override
 	public void resize(int width, int height) {
-		// TODO Auto-generated method stub
-		
+		viewport.update(width, height, true);
+		PoliticaRender.ESTATICA.redibujar();
 	}
 
 	@Override
@@ -69,14 +144,17 @@ public class PausaScreen implements Screen {
 
 	@Override
 	public void hide() {
-		// TODO Auto-generated method stub
-		
+		Gdx.input.setInputProcessor(null);
+		PoliticaRender.ESTATICA.detener();
 	}
 
+	/**
+	 * Lo llama GameScreen al destruirse (la pausa se reutiliza entre pausas).
+	 */
 	@Override
 	public void dispose() {
-		// TODO Auto-generated method stub
-		
+		if (captura != null) captura.dispose();
+		pixel.dispose();
 	}
 
 }
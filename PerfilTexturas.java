@@ -0,0 +1,46 @@
+package com.mygame.rain.diagnostico;
+
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+/**
+ * Cuenta cambios de textura y llamadas de dibujo por cuadro con GLProfiler,
+ * para comparar el atlas con los png sueltos (-Dlluvia.sinAtlas=true).
+ * El perfilador envuelve la interfaz GL y cuesta algo por llamada: solo
+ * se activa a pedido.
+ */
+public class PerfilTexturas {
+
+    private final GLProfiler perfilador;
+    private long cuadros;
+    private long binds;
+    private long llamadas;
+    private int maxBinds;
+
+    public PerfilTexturas(Graphics graphics) {
+        perfilador = new GLProfiler(graphics);
+        perfilador.enable();
+    }
+
+    /**
+     * Llamar al final de cada cuadro: suma sus contadores y los reinicia.
+     */
+    public void registrarCuadro() {
+        int bindsCuadro = perfilador.getTextureBindings();
+        binds += bindsCuadro;
+        llamadas += perfilador.getDrawCalls();
+        if (bindsCuadro > maxBinds) maxBinds = bindsCuadro;
+        cuadros++;
+        perfilador.reset();
+    }
+
+    public String getReporte() {
+        if (cuadros == 0) return "Sin cuadros registrados";
+        return String.format("%d cuadros: %.1f binds de textura/cuadro (max %d), %.1f llamadas de dibujo/cuadro",
+                cuadros, binds / (double) cuadros, maxBinds, llamadas / (double) cuadros);
+    }
+
+    public void dispose() {
+        perfilador.disable();
+    }
+}
@@ -0,0 +1,319 @@
+package com.mygame.rain.ai;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygame.rain.ecs.Arquetipo;
+import com.mygame.rain.ecs.Componentes;
+import com.mygame.rain.ecs.MundoEcs;
+import com.mygame.rain.ecs.TablaArquetipo;
+import com.mygame.rain.entities.GameObject;
+import com.mygame.rain.entities.Gota;
+import com.mygame.rain.entities.TipoGota;
+import com.mygame.rain.input.FrameEntrada;
+import com.mygame.rain.input.FuenteEntrada;
+import com.mygame.rain.managers.GameObjectManager;
+
+import java.util.Arrays;
+
+/**
+ * Piloto automatico por reglas para el tarro (pruebas de resistencia).
+ *
+ * Cada tick consulta solo las gotas en la franja que el tarro puede
+ * alcanzar, estima donde y cuando cae cada una, y puntua unas pocas
+ * posiciones candidatas: suma las gotas buenas/limpieza que atraparia y
+ * resta las malas/maldicion. Luego arrastra el tarro hacia la mejor.
+ *
+ * El trabajo por tick esta acotado por 'maxGotas' (las mas cercanas al
+ * tarro) y por un presupuesto de tiempo; si se excede se usa lo evaluado
+ * hasta ese momento.
+ *
+ * Las gotas se leen del registro de objetos o, en modo ECS, de las tablas
+ * de MundoEcs (los ids de arquetipo son los de TipoGota).
+ */
+public class PilotoAutomatico implements FuenteEntrada {
+
+    private static final int CANDIDATOS = 17; // impar: el central es la posicion actual
+    private static final int GOTAS_ENTRE_CONTROLES = 16;
+
+    private static final float VALOR_BUENA = 10f;
+    private static final float VALOR_LIMPIEZA = 25f;
+    private static final float VALOR_MALA = -40f;
+    private static final float VALOR_MALDICION = -30f;
+
+    private GameObjectManager gotas;
+    private MundoEcs mundoEcs;
+    private Rectangle areaTarro;
+
+    private final float velocidadTarro;
+    private final float velocidadCaida;
+    private final float horizonte;
+    private final int maxGotas;
+    private final long presupuestoNanos;
+
+    private final Rectangle franja = new Rectangle();
+    private final Array<GameObject> consulta = new Array<>();
+    private final float[] posiciones = new float[CANDIDATOS];
+    private final float[] puntajes = new float[CANDIDATOS];
+
+    // Gotas de la franja en arreglos paralelos, vengan del registro o del ECS
+    private float[] cercanasX = new float[64];
+    private float[] cercanasY = new float[64];
+    private float[] cercanasAncho = new float[64];
+    private float[] cercanasDistancia = new float[64];
+    private byte[] cercanasTipo = new byte[64];
+    private int cantidadCercanas;
+
+    private long ticksExcedidos;
+    private long ultimoTiempoNanos;
+
+    /**
+     * @param velocidadTarro   velocidad horizontal del tarro (px/s)
+     * @param velocidadCaida   velocidad de caida estimada de las gotas (px/s)
+     * @param horizonte        altura sobre el tarro que se considera (px)
+     * @param maxGotas         maximo de gotas evaluadas por tick
+     * @param presupuestoNanos tiempo maximo de CPU por tick
+     */
+    public PilotoAutomatico(float velocidadTarro, float velocidadCaida, float horizonte,
+                            int maxGotas, long presupuestoNanos) {
+        if (velocidadTarro <= 0 || velocidadCaida <= 0 || horizonte <= 0 || maxGotas <= 0 || presupuestoNanos <= 0) {
+            throw new IllegalArgumentException("Parametros del piloto deben ser positivos");
+        }
+        this.velocidadTarro = velocidadTarro;
+        this.velocidadCaida = velocidadCaida;
+        this.horizonte = horizonte;
+        this.maxGotas = maxGotas;
+        this.presupuestoNanos = presupuestoNanos;
+    }
+
+    public PilotoAutomatico() {
+        this(400f, 200f, 480f, 64, 200_000L);
+    }
+
+    /**
+     * Asocia el piloto a las gotas y al tarro de la partida actual.
+     */
+    public void vincular(GameObjectManager gotas, Rectangle areaTarro) {
+        this.gotas = gotas;
+        this.mundoEcs = null;
+        this.areaTarro = areaTarro;
+    }
+
+    /**
+     * Igual que vincular(GameObjectManager, Rectangle), con las gotas del modo ECS.
+     */
+    public void vincular(MundoEcs mundoEcs, Rectangle areaTarro) {
+        this.gotas = null;
+        this.mundoEcs = mundoEcs;
+        this.areaTarro = areaTarro;
+    }
+
+    @Override
+    public FrameEntrada muestrear(long tick, long tiempoMuestreo, long tiempoEvento) {
+        if ((gotas == null && mundoEcs == null) || areaTarro == null) {
+            return new FrameEntrada(tick, tiempoMuestreo, tiempoEvento, false, false, Float.NaN, false, false, false);
+        }
+
+        long inicio = TimeUtils.nanoTime();
+        float objetivo = planificar(inicio);
+        ultimoTiempoNanos = TimeUtils.nanoTime() - inicio;
+
+        // La decision del piloto cuenta como evento de entrada en este tick
+        return new FrameEntrada(tick, tiempoMuestreo, tiempoMuestreo,
+                false, false, objetivo, false, false, false);
+    }
+
+    private float planificar(long inicio) {
+        float ancho = areaTarro.width;
+        float tope = areaTarro.y + areaTarro.height;
+        float alcance = Math.min(velocidadTarro * horizonte / velocidadCaida, 4 * ancho);
+
+        // Consulta espacial: solo la franja alcanzable sobre el tarro
+        franja.set(areaTarro.x - alcance, tope, ancho + 2 * alcance, horizonte);
+        cantidadCercanas = 0;
+        if (mundoEcs != null) {
+            juntarDeEcs();
+        } else {
+            juntarDeRegistro();
+        }
+
+        for (int c = 0; c < CANDIDATOS; c++) {
+            posiciones[c] = areaTarro.x - alcance + 2 * alcance * c / (CANDIDATOS - 1);
+            puntajes[c] = 0;
+        }
+
+        if (cantidadCercanas > maxGotas) {
+            seleccionarCercanas(maxGotas);
+        }
+        int evaluadas = Math.min(cantidadCercanas, maxGotas);
+        for (int i = 0; i < evaluadas; i++) {
+            if (i % GOTAS_ENTRE_CONTROLES == GOTAS_ENTRE_CONTROLES - 1
+                    && TimeUtils.nanoTime() - inicio > presupuestoNanos) {
+                ticksExcedidos++;
+                break;
+            }
+            puntuar(i, tope, ancho);
+        }
+
+        int mejor = -1;
+        float mejorPuntaje = 0;
+        float mejorDistancia = Float.MAX_VALUE;
+        for (int c = 0; c < CANDIDATOS; c++) {
+            float distancia = Math.abs(posiciones[c] - areaTarro.x);
+            if (puntajes[c] > mejorPuntaje || (puntajes[c] == mejorPuntaje && mejor >= 0 && distancia < mejorDistancia)) {
+                mejor = c;
+                mejorPuntaje = puntajes[c];
+                mejorDistancia = distancia;
+            }
+        }
+
+        // Sin nada bueno a la vista: quedarse quieto salvo que venga algo malo encima
+        float destino = mejor >= 0 ? posiciones[mejor] : areaTarro.x;
+        if (mejor < 0 && puntajes[CANDIDATOS / 2] < 0) {
+            destino = posiciones[mejorCandidatoSeguro()];
+        }
+        return destino + ancho / 2;
+    }
+
+    private void juntarDeRegistro() {
+        gotas.findAllCollisions(franja, consulta);
+        for (int i = 0; i < consulta.size; i++) {
+            GameObject gota = consulta.get(i);
+            if (gota instanceof Gota) {
+                agregarCercana(gota.getMinX(), gota.getMinY(), gota.getWidth(), ((Gota) gota).getTipo().getId());
+            }
+        }
+        consulta.clear();
+    }
+
+    private void juntarDeEcs() {
+        Array<TablaArquetipo> tablas = mundoEcs.consultar(Componentes.POSICION | Componentes.RECOLECTABLE);
+        float fMinX = franja.x, fMaxX = franja.x + franja.width;
+        float fMinY = franja.y, fMaxY = franja.y + franja.height;
+        for (int t = 0; t < tablas.size; t++) {
+            TablaArquetipo tabla = tablas.get(t);
+            Arquetipo arquetipo = tabla.getArquetipo();
+            float w = arquetipo.getAncho();
+            float h = arquetipo.getAlto();
+            byte tipo = (byte) arquetipo.getId();
+            float[] x = tabla.x;
+            float[] y = tabla.y;
+            int n = tabla.getCantidad();
+            for (int i = 0; i < n; i++) {
+                if (x[i] < fMaxX && x[i] + w > fMinX && y[i] < fMaxY && y[i] + h > fMinY) {
+                    agregarCercana(x[i], y[i], w, tipo);
+                }
+            }
+        }
+    }
+
+    private void agregarCercana(float x, float y, float w, byte tipo) {
+        if (cantidadCercanas == cercanasX.length) {
+            int capacidad = cantidadCercanas * 2;
+            cercanasX = Arrays.copyOf(cercanasX, capacidad);
+            cercanasY = Arrays.copyOf(cercanasY, capacidad);
+            cercanasAncho = Arrays.copyOf(cercanasAncho, capacidad);
+            cercanasDistancia = Arrays.copyOf(cercanasDistancia, capacidad);
+            cercanasTipo = Arrays.copyOf(cercanasTipo, capacidad);
+        }
+        float dx = x + w / 2 - (areaTarro.x + areaTarro.width / 2);
+        float dy = y - (areaTarro.y + areaTarro.height);
+        int i = cantidadCercanas++;
+        cercanasX[i] = x;
+        cercanasY[i] = y;
+        cercanasAncho[i] = w;
+        cercanasDistancia[i] = dx * dx + dy * dy;
+        cercanasTipo[i] = tipo;
+    }
+
+    /**
+     * Deja en las primeras k posiciones las k gotas mas cercanas al tarro
+     * (seleccion rapida, sin ordenar el resto).
+     */
+    private void seleccionarCercanas(int k) {
+        int izq = 0;
+        int der = cantidadCercanas - 1;
+        while (izq < der) {
+            float pivote = cercanasDistancia[(izq + der) >>> 1];
+            int i = izq;
+            int j = der;
+            while (i <= j) {
+                while (cercanasDistancia[i] < pivote) i++;
+                while (cercanasDistancia[j] > pivote) j--;
+                if (i <= j) {
+                    intercambiar(i++, j--);
+                }
+            }
+            // [izq, j] <= pivote <= [i, der]; lo que queda entre ambos es igual al pivote
+            if (k - 1 <= j) {
+                der = j;
+            } else if (k - 1 >= i) {
+                izq = i;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void intercambiar(int a, int b) {
+        float x = cercanasX[a]; cercanasX[a] = cercanasX[b]; cercanasX[b] = x;
+        float y = cercanasY[a]; cercanasY[a] = cercanasY[b]; cercanasY[b] = y;
+        float w = cercanasAncho[a]; cercanasAncho[a] = cercanasAncho[b]; cercanasAncho[b] = w;
+        float d = cercanasDistancia[a]; cercanasDistancia[a] = cercanasDistancia[b]; cercanasDistancia[b] = d;
+        byte t = cercanasTipo[a]; cercanasTipo[a] = cercanasTipo[b]; cercanasTipo[b] = t;
+    }
+
+    private void puntuar(int g, float tope, float ancho) {
+        float valor = valorDe(cercanasTipo[g]);
+        if (valor == 0) return;
+
+        float tiempo = Math.max(0f, (cercanasY[g] - tope) / velocidadCaida);
+        float alcance = velocidadTarro * tiempo + ancho / 2;
+        float peso = valor / (1f + tiempo);
+
+        // Caida vertical: la gota aterriza en su x actual
+        float izq = cercanasX[g];
+        float der = izq + cercanasAncho[g];
+        for (int c = 0; c < CANDIDATOS; c++) {
+            float x = posiciones[c];
+            boolean atrapa = izq < x + ancho && der > x;
+            if (!atrapa) continue;
+            // Las buenas solo cuentan si se llega a tiempo; las malas siempre
+            if (valor > 0 && Math.abs(x - areaTarro.x) > alcance) continue;
+            puntajes[c] += peso;
+        }
+    }
+
+    /**
+     * Candidato de mayor puntaje; en empate el mas cercano al tarro, para
+     * apartarse lo justo en vez de cruzar la pantalla.
+     */
+    private int mejorCandidatoSeguro() {
+        int mejor = CANDIDATOS / 2;
+        float mejorDistancia = Math.abs(posiciones[mejor] - areaTarro.x);
+        for (int c = 0; c < CANDIDATOS; c++) {
+            float distancia = Math.abs(posiciones[c] - areaTarro.x);
+            if (puntajes[c] > puntajes[mejor] || (puntajes[c] == puntajes[mejor] && distancia < mejorDistancia)) {
+                mejor = c;
+                mejorDistancia = distancia;
+            }
+        }
+        return mejor;
+    }
+
+    private static float valorDe(byte tipo) {
+        switch (tipo) {
+            case TipoGota.MALA: return VALOR_MALA;
+            case TipoGota.MALDICION: return VALOR_MALDICION;
+            case TipoGota.LIMPIEZA: return VALOR_LIMPIEZA;
+            case TipoGota.BUENA: return VALOR_BUENA;
+            default: return 0;
+        }
+    }
+
+    /** Ticks en que se agotó el presupuesto de CPU. */
+    public long getTicksExcedidos() { return ticksExcedidos; }
+
+    /** Tiempo de planificación del último tick. */
+    public long getUltimoTiempoNanos() { return ultimoTiempoNanos; }
+}
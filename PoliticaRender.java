@@ -0,0 +1,80 @@
+package puppy.code;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Como se redibuja cada pantalla.
+ *
+ * Las pantallas estaticas (menu, pausa, fin de juego) usan renderizado no
+ * continuo: solo se dibuja cuando llega entrada, cambia el tamaño de la
+ * ventana o la pantalla pide un cuadro de animacion con pedirCuadro(). Los
+ * cuadros de animacion se limitan a 'fpsMaximo' por segundo. El juego usa
+ * renderizado continuo.
+ */
+public final class PoliticaRender {
+
+	public static final PoliticaRender JUEGO = new PoliticaRender("juego", true, 0);
+	// el aviso del menu cambia cada 500 ms: con 2 cuadros por segundo alcanza
+	public static final PoliticaRender MENU = new PoliticaRender("menu", false, 2);
+	public static final PoliticaRender ESTATICA = new PoliticaRender("estatica", false, 0);
+
+	private final String nombre;
+	private final boolean continua;
+	private final int fpsMaximo;
+
+	private final Timer.Task pedirRender = new Timer.Task() {
+		@Override
+		public void run() {
+			Gdx.graphics.requestRendering();
+		}
+	};
+
+	/**
+	 * @param fpsMaximo cuadros de animacion por segundo como maximo (0 = sin animacion)
+	 */
+	public PoliticaRender(String nombre, boolean continua, int fpsMaximo) {
+		if (fpsMaximo < 0) {
+			throw new IllegalArgumentException("fpsMaximo no puede ser negativo");
+		}
+		this.nombre = nombre;
+		this.continua = continua;
+		this.fpsMaximo = fpsMaximo;
+	}
+
+	/**
+	 * Aplicar en show() de la pantalla. Pide un cuadro para dibujarla de inmediato.
+	 */
+	public void aplicar() {
+		pedirRender.cancel();
+		Gdx.graphics.setContinuousRendering(continua);
+		Gdx.graphics.requestRendering();
+	}
+
+	/**
+	 * Pide el proximo cuadro de una animacion, a no mas de fpsMaximo por
+	 * segundo. Sin efecto en modo continuo o si la politica no anima.
+	 */
+	public void pedirCuadro() {
+		if (continua || fpsMaximo == 0 || pedirRender.isScheduled()) return;
+		Timer.schedule(pedirRender, 1f / fpsMaximo);
+	}
+
+	/**
+	 * Pide un cuadro ya (p. ej. tras un resize).
+	 */
+	public void redibujar() {
+		if (!continua) Gdx.graphics.requestRendering();
+	}
+
+	/**
+	 * Cancela un cuadro pendiente. Aplicar en hide().
+	 */
+	public void detener() {
+		pedirRender.cancel();
+	}
+
+	public String getNombre() { return nombre; }
+	public boolean isContinua() { return continua; }
+	public int getFpsMaximo() { return fpsMaximo; }
+}
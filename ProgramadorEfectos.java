@@ -0,0 +1,234 @@
+package com.mygame.rain.effects;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Programador de efectos temporales (maldicion, power-ups).
+ *
+ * Los efectos activos estan en un min-heap ordenado por instante de
+ * expiracion, asi que cada tick solo se mira la cima: aplicar, refrescar o
+ * expirar un efecto cuesta O(log n) y no se recorre cada efecto por frame.
+ *
+ * Hay como maximo un efecto activo por tipo. Volver a aplicarlo refresca su
+ * duracion y, si el tipo es apilable, suma una pila. Los modificadores
+ * combinados (multiplicador de gotas, probabilidad de gota mala) se
+ * recalculan solo cuando cambia el conjunto de efectos.
+ */
+public class ProgramadorEfectos {
+
+    public interface Oyente {
+        void alExpirar(TipoEfecto tipo);
+    }
+
+    private static final TipoEfecto[] TIPOS = TipoEfecto.values();
+
+    private static final class EfectoActivo {
+        TipoEfecto tipo;
+        float expira;
+        int pilas;
+        int indiceHeap;
+    }
+
+    private final EfectoActivo[] porTipo = new EfectoActivo[TIPOS.length];
+    private final EfectoActivo[] heap = new EfectoActivo[TIPOS.length];
+    private int tamano;
+    private float reloj;
+
+    private float multiplicadorGotas = 1f;
+    private int probabilidadGotaMala = -1;
+
+    private Oyente oyente;
+
+    /**
+     * Aplica (o refresca) un efecto por 'duracion' segundos.
+     */
+    public void aplicar(TipoEfecto tipo, float duracion) {
+        if (duracion <= 0) {
+            throw new IllegalArgumentException("La duración debe ser positiva");
+        }
+
+        EfectoActivo efecto = porTipo[tipo.ordinal()];
+        if (efecto == null) {
+            efecto = new EfectoActivo();
+            efecto.tipo = tipo;
+            efecto.pilas = 1;
+            efecto.expira = reloj + duracion;
+            porTipo[tipo.ordinal()] = efecto;
+            efecto.indiceHeap = tamano;
+            heap[tamano++] = efecto;
+            subir(efecto.indiceHeap);
+        } else {
+            if (tipo.isApilable()) {
+                efecto.pilas = Math.min(efecto.pilas + 1, tipo.getMaxPilas());
+            }
+            float anterior = efecto.expira;
+            efecto.expira = Math.max(anterior, reloj + duracion);
+            if (efecto.expira != anterior) {
+                bajar(efecto.indiceHeap);
+            }
+        }
+        recalcularModificadores();
+    }
+
+    public void cancelar(TipoEfecto tipo) {
+        EfectoActivo efecto = porTipo[tipo.ordinal()];
+        if (efecto == null) return;
+        quitar(efecto.indiceHeap);
+        recalcularModificadores();
+    }
+
+    /**
+     * Avanza el reloj y expira los efectos vencidos (solo revisa la cima del heap).
+     */
+    public void actualizar(float deltaTime) {
+        reloj += deltaTime;
+
+        boolean cambio = false;
+        while (tamano > 0 && heap[0].expira <= reloj) {
+            TipoEfecto tipo = heap[0].tipo;
+            quitar(0);
+            cambio = true;
+            if (oyente != null) oyente.alExpirar(tipo);
+        }
+        if (cambio) recalcularModificadores();
+    }
+
+    public void limpiar() {
+        for (int i = 0; i < tamano; i++) {
+            porTipo[heap[i].tipo.ordinal()] = null;
+            heap[i] = null;
+        }
+        tamano = 0;
+        recalcularModificadores();
+    }
+
+    // ===== CONSULTAS =====
+
+    public boolean estaActivo(TipoEfecto tipo) {
+        return porTipo[tipo.ordinal()] != null;
+    }
+
+    public float getTiempoRestante(TipoEfecto tipo) {
+        EfectoActivo efecto = porTipo[tipo.ordinal()];
+        return efecto == null ? 0f : efecto.expira - reloj;
+    }
+
+    public int getPilas(TipoEfecto tipo) {
+        EfectoActivo efecto = porTipo[tipo.ordinal()];
+        return efecto == null ? 0 : efecto.pilas;
+    }
+
+    public int getCantidadActivos() {
+        return tamano;
+    }
+
+    /**
+     * Factor por el que se multiplica la cantidad de gotas generadas.
+     */
+    public float getMultiplicadorGotas() {
+        return multiplicadorGotas;
+    }
+
+    /**
+     * Probabilidad de gota mala con los efectos aplicados, o 'base' si ninguno la cambia.
+     */
+    public int getProbabilidadGotaMala(int base) {
+        return probabilidadGotaMala < 0 ? base : probabilidadGotaMala;
+    }
+
+    public void setOyente(Oyente oyente) {
+        this.oyente = oyente;
+    }
+
+    // ===== INSTANTÁNEAS =====
+
+    public void escribirEstado(DataOutput out) throws IOException {
+        out.writeByte(tamano);
+        for (int i = 0; i < tamano; i++) {
+            EfectoActivo efecto = heap[i];
+            out.writeByte(efecto.tipo.ordinal());
+            out.writeFloat(efecto.expira - reloj);
+            out.writeByte(efecto.pilas);
+        }
+    }
+
+    public void leerEstado(DataInput in) throws IOException {
+        limpiar();
+        int cantidad = in.readByte();
+        for (int i = 0; i < cantidad; i++) {
+            TipoEfecto tipo = TIPOS[in.readByte()];
+            float restante = in.readFloat();
+            int pilas = in.readByte();
+            aplicar(tipo, Math.max(restante, Float.MIN_VALUE));
+            porTipo[tipo.ordinal()].pilas = pilas;
+        }
+        recalcularModificadores();
+    }
+
+    // ===== HEAP =====
+
+    private void quitar(int indice) {
+        EfectoActivo quitado = heap[indice];
+        porTipo[quitado.tipo.ordinal()] = null;
+
+        tamano--;
+        if (indice != tamano) {
+            heap[indice] = heap[tamano];
+            heap[indice].indiceHeap = indice;
+            heap[tamano] = null;
+            subir(indice);
+            bajar(heap[indice].indiceHeap);
+        } else {
+            heap[tamano] = null;
+        }
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (heap[padre].expira <= heap[i].expira) break;
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private void bajar(int i) {
+        while (true) {
+            int izq = 2 * i + 1;
+            if (izq >= tamano) break;
+            int menor = izq;
+            int der = izq + 1;
+            if (der < tamano && heap[der].expira < heap[izq].expira) menor = der;
+            if (heap[i].expira <= heap[menor].expira) break;
+            intercambiar(i, menor);
+            i = menor;
+        }
+    }
+
+    private void intercambiar(int a, int b) {
+        EfectoActivo tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+        heap[a].indiceHeap = a;
+        heap[b].indiceHeap = b;
+    }
+
+    private void recalcularModificadores() {
+        float multiplicador = 1f;
+        int probabilidad = -1;
+        for (int i = 0; i < tamano; i++) {
+            EfectoActivo efecto = heap[i];
+            TipoEfecto tipo = efecto.tipo;
+            for (int p = 0; p < efecto.pilas; p++) {
+                multiplicador *= tipo.getMultiplicadorGotas();
+            }
+            if (tipo.getProbabilidadGotaMala() >= 0) {
+                probabilidad = Math.max(probabilidad, tipo.getProbabilidadGotaMala());
+            }
+        }
+        multiplicadorGotas = multiplicador;
+        probabilidadGotaMala = probabilidad;
+    }
+}
@@ -0,0 +1,227 @@
+package com.mygame.rain.recursos;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.mygame.rain.entities.MascaraAlfa;
+
+/**
+ * Texturas del juego como regiones. Si existe el atlas que deja
+ * EmpaquetadorAtlas, los sprites, el fondo y el pixel blanco son regiones
+ * de sus paginas y una escena se dibuja casi sin cambiar de textura; si no
+ * (arbol de desarrollo sin la etapa de recursos) se cargan los png sueltos
+ * como antes, cada uno en su propia textura.
+ *
+ * Con fondo.ktx presente el fondo sale de ahi (ETC1 con mipmaps) en vez
+ * del atlas. Todas las texturas son de esta clase: los que reciben
+ * regiones no las liberan.
+ */
+public final class Recursos implements Disposable {
+
+    public static final String ARCHIVO_ATLAS = "lluvia.atlas";
+    public static final String ARCHIVO_FONDO_KTX = "fondo.ktx";
+
+    // nombres de region = nombre del png sin extension
+    public static final String GOTA = "drop";
+    public static final String GOTA_MALA = "dropBad";
+    public static final String GOTA_LIMPIEZA = "poder";
+    public static final String GOTA_MALDICION = "gotaMaligna";
+    public static final String TARRO = "bucket";
+    public static final String FONDO = "fondo";
+    public static final String PIXEL = "pixel";
+
+    static final String[] SPRITES = { GOTA, GOTA_MALA, GOTA_LIMPIEZA, GOTA_MALDICION, TARRO };
+
+    private static final String EXTENSION_ETC1 = "GL_OES_compressed_ETC1_RGB8_texture";
+
+    private final ObjectMap<String, TextureRegion> regiones = new ObjectMap<>();
+    // texturas propias o paginas del atlas, para liberar y estimar memoria
+    private final Array<Texture> texturas = new Array<>();
+    private TextureAtlas atlas;
+    private TextureAtlas.TextureAtlasData datosAtlas;
+    private Texture fondoKtx;
+
+    // paginas del atlas leidas en CPU para las mascaras (ver liberarPixmaps)
+    private final ObjectMap<String, Pixmap> pixmapsPagina = new ObjectMap<>();
+
+    private Recursos() {}
+
+    /**
+     * @param usarAtlas false fuerza los png sueltos aunque haya atlas (para
+     *                  comparar binds y memoria con la carga anterior)
+     */
+    public static Recursos cargar(boolean usarAtlas) {
+        Recursos recursos = new Recursos();
+        FileHandle archivoAtlas = Gdx.files.internal(ARCHIVO_ATLAS);
+        if (usarAtlas && archivoAtlas.exists()) {
+            recursos.cargarAtlas(archivoAtlas);
+        } else {
+            recursos.cargarSueltas();
+        }
+        return recursos;
+    }
+
+    private void cargarAtlas(FileHandle archivo) {
+        // se guardan los datos para encontrar la pagina de cada region (mascaras)
+        datosAtlas = new TextureAtlas.TextureAtlasData(archivo, archivo.parent(), false);
+        atlas = new TextureAtlas(datosAtlas);
+        for (String nombre : SPRITES) {
+            regiones.put(nombre, buscarEnAtlas(nombre));
+        }
+        regiones.put(PIXEL, buscarEnAtlas(PIXEL));
+
+        FileHandle ktx = Gdx.files.internal(ARCHIVO_FONDO_KTX);
+        if (ktx.exists()) {
+            fondoKtx = new Texture(ktx, true);
+            fondoKtx.setFilter(Texture.TextureFilter.MipMapLinearLinear, Texture.TextureFilter.Linear);
+            texturas.add(fondoKtx);
+            regiones.put(FONDO, new TextureRegion(fondoKtx));
+        } else {
+            regiones.put(FONDO, buscarEnAtlas(FONDO));
+        }
+        for (Texture pagina : atlas.getTextures()) {
+            texturas.add(pagina);
+        }
+    }
+
+    private TextureRegion buscarEnAtlas(String nombre) {
+        TextureRegion region = atlas.findRegion(nombre);
+        if (region == null) {
+            throw new IllegalStateException("El atlas no tiene la region '" + nombre + "'");
+        }
+        return region;
+    }
+
+    private void cargarSueltas() {
+        for (String nombre : SPRITES) {
+            regiones.put(nombre, new TextureRegion(cargarTextura(nombre + ".png")));
+        }
+        regiones.put(FONDO, new TextureRegion(cargarTextura(FONDO + ".png")));
+
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        Texture pixel = new Texture(pixmap);
+        pixmap.dispose();
+        texturas.add(pixel);
+        regiones.put(PIXEL, new TextureRegion(pixel));
+    }
+
+    private Texture cargarTextura(String archivo) {
+        Texture textura = new Texture(Gdx.files.internal(archivo));
+        texturas.add(textura);
+        return textura;
+    }
+
+    public TextureRegion getRegion(String nombre) {
+        TextureRegion region = regiones.get(nombre);
+        if (region == null) {
+            throw new IllegalArgumentException("Region desconocida: " + nombre);
+        }
+        return region;
+    }
+
+    public boolean usaAtlas() {
+        return atlas != null;
+    }
+
+    /**
+     * Mascara de colision de la region 'nombre' escalada a ancho x alto.
+     * Con atlas lee la pagina en CPU una vez y la reutiliza hasta
+     * liberarPixmaps().
+     */
+    public MascaraAlfa mascara(String nombre, int ancho, int alto) {
+        if (atlas == null) {
+            return MascaraAlfa.desdeArchivo(Gdx.files.internal(nombre + ".png"), ancho, alto);
+        }
+        TextureAtlas.TextureAtlasData.Region datos = null;
+        for (TextureAtlas.TextureAtlasData.Region r : datosAtlas.getRegions()) {
+            if (r.name.equals(nombre)) {
+                datos = r;
+                break;
+            }
+        }
+        if (datos == null) {
+            throw new IllegalStateException("El atlas no tiene la region '" + nombre + "'");
+        }
+        FileHandle archivoPagina = datos.page.textureFile;
+        Pixmap pagina = pixmapsPagina.get(archivoPagina.path());
+        if (pagina == null) {
+            pagina = new Pixmap(archivoPagina);
+            pixmapsPagina.put(archivoPagina.path(), pagina);
+        }
+        return MascaraAlfa.desdePixmap(pagina, datos.left, datos.top, datos.width, datos.height,
+                ancho, alto, MascaraAlfa.UMBRAL_POR_DEFECTO);
+    }
+
+    /**
+     * Libera las paginas leidas por mascara(); llamar al terminar de crear las mascaras.
+     */
+    public void liberarPixmaps() {
+        for (Pixmap pixmap : pixmapsPagina.values()) {
+            pixmap.dispose();
+        }
+        pixmapsPagina.clear();
+    }
+
+    /**
+     * Memoria de video estimada: ancho x alto x bits por pixel de cada
+     * textura, mas un tercio si tiene mipmaps. fondo.ktx cuenta 4 bits por
+     * pixel si el driver acepta ETC1; si no, libGDX lo descomprime a RGB565.
+     */
+    public long estimarMemoriaGpu() {
+        long bytes = 0;
+        for (Texture textura : texturas) {
+            long bits = (long) textura.getWidth() * textura.getHeight() * bitsPorPixel(textura);
+            if (textura.getMinFilter().isMipMap()) {
+                bits = bits * 4 / 3;
+            }
+            bytes += bits / 8;
+        }
+        return bytes;
+    }
+
+    private int bitsPorPixel(Texture textura) {
+        if (textura == fondoKtx) {
+            return Gdx.graphics.supportsExtension(EXTENSION_ETC1) ? 4 : 16;
+        }
+        switch (textura.getTextureData().getFormat()) {
+            case Alpha:
+            case Intensity: return 8;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444: return 16;
+            case RGB888: return 24;
+            default: return 32;
+        }
+    }
+
+    public String getReporte() {
+        return String.format("%s: %d texturas, memoria GPU estimada %d KB%s",
+                atlas != null ? "atlas" : "png sueltos", texturas.size, estimarMemoriaGpu() / 1024,
+                fondoKtx != null ? " (fondo KTX)" : "");
+    }
+
+    @Override
+    public void dispose() {
+        liberarPixmaps();
+        if (atlas != null) {
+            // las paginas son del atlas
+            atlas.dispose();
+            if (fondoKtx != null) fondoKtx.dispose();
+        } else {
+            for (Texture textura : texturas) {
+                textura.dispose();
+            }
+        }
+        texturas.clear();
+        regiones.clear();
+    }
+}
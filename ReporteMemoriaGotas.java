@@ -0,0 +1,50 @@
+package com.mygame.rain.diagnostico;
+
+import com.mygame.rain.entities.Gota;
+import com.mygame.rain.entities.TipoGota;
+import com.mygame.rain.interfaces.MovimientoStrategy;
+
+import java.util.Arrays;
+
+/**
+ * Mide los bytes de heap por gota: crea n gotas de cada tipo, fuerza GC
+ * antes y despues y divide la diferencia de heap usado por n. El arreglo
+ * que las retiene se reserva antes de la primera medicion, asi que no
+ * entra en la cuenta. No necesita contexto grafico.
+ *
+ * Uso: java com.mygame.rain.diagnostico.ReporteMemoriaGotas [n]
+ */
+public class ReporteMemoriaGotas {
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+
+        MovimientoStrategy[] sinMovimiento = { null, null, null, null };
+        TipoGota[] tipos = {
+                new TipoGota(TipoGota.BUENA, "GotaBuena", null, null, 64, 64, 10, 0, 0, sinMovimiento),
+                new TipoGota(TipoGota.MALA, "GotaMala", null, null, 64, 64, 0, 1, 0, sinMovimiento),
+                new TipoGota(TipoGota.LIMPIEZA, "GotaLimpieza", null, null, 64, 64, 20, 0, 0, sinMovimiento),
+                new TipoGota(TipoGota.MALDICION, "GotaMaldicion", null, null, 64, 64, 0, 0, 10f, sinMovimiento),
+        };
+
+        Gota[] gotas = new Gota[n];
+        for (TipoGota tipo : tipos) {
+            long antes = heapRetenido();
+            for (int i = 0; i < n; i++) {
+                gotas[i] = new Gota(i, i, tipo);
+            }
+            long despues = heapRetenido();
+            System.out.printf("%-14s %.1f bytes/gota%n", tipo.getNombre(), (despues - antes) / (double) n);
+            Arrays.fill(gotas, null);
+        }
+    }
+
+    private static long heapRetenido() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
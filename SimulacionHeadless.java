@@ -0,0 +1,240 @@
+package puppy.code;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygame.rain.ai.PilotoAutomatico;
+import com.mygame.rain.diagnostico.MedidorLatencia;
+import com.mygame.rain.diagnostico.VerificadorMemoria;
+import com.mygame.rain.ecs.Componentes;
+import com.mygame.rain.ecs.MundoEcs;
+import com.mygame.rain.ecs.TablaArquetipo;
+import com.mygame.rain.input.FrameEntrada;
+import com.mygame.rain.input.FuenteEntrada;
+import com.mygame.rain.input.SistemaEntrada;
+import com.mygame.rain.managers.GameObjectManager;
+import com.mygame.rain.nivel.Nivel;
+
+/**
+ * Partida sin graficos para pruebas automaticas: Lluvia y Tarro avanzan con
+ * un delta fijo por tick y la entrada sale de una fuente sintetica (guion
+ * o IA). Cuando el tarro pierde se empieza otra partida.
+ *
+ * Las texturas son null (no hay contexto GL); el audio lo entrega el backend
+ * headless. Lanzar con HeadlessLauncher.
+ */
+public class SimulacionHeadless extends ApplicationAdapter {
+
+	private final ConfiguracionMundo configuracion;
+	private final FuenteEntrada fuente;
+	private final float deltaTick;
+	private final int ticksPorSegundo;
+	private final long ticksMaximos;
+	private final int framesEnCola;
+	private final MedidorLatencia medidorLatencia;
+
+	private SistemaEntrada entrada;
+	private Lluvia lluvia;
+	private Tarro tarro;
+	private long ticks;
+	private int partidas;
+	private long puntosTotales;
+
+	// Reporte periodico para pruebas de larga duracion (0 = sin reporte)
+	private long intervaloReporte;
+	private long tiempoTicksNanos;
+	private long maxTickNanos;
+
+	// Verificacion de fugas (null = desactivada)
+	private VerificadorMemoria verificadorMemoria;
+	private long intervaloMemoria;
+
+	private boolean modoEcs;
+	private boolean fusionGotas;
+	private Nivel nivel = Nivel.vacio();
+
+	/**
+	 * @param ticksPorSegundo frecuencia de simulacion (delta fijo = 1/ticksPorSegundo)
+	 * @param ticksMaximos    ticks a simular antes de salir
+	 * @param framesEnCola    frames que tarda en presentarse un tick (profundidad de la cola de swap simulada)
+	 * @param medidor         medidor de latencia, o null para no medir
+	 */
+	public SimulacionHeadless(ConfiguracionMundo configuracion, FuenteEntrada fuente,
+			int ticksPorSegundo, long ticksMaximos, int framesEnCola, MedidorLatencia medidor) {
+		if (ticksPorSegundo <= 0 || ticksMaximos <= 0 || framesEnCola < 0) {
+			throw new IllegalArgumentException("Parametros de simulacion invalidos");
+		}
+		this.configuracion = configuracion;
+		this.fuente = fuente;
+		this.deltaTick = 1f / ticksPorSegundo;
+		this.ticksPorSegundo = ticksPorSegundo;
+		this.ticksMaximos = ticksMaximos;
+		this.framesEnCola = framesEnCola;
+		this.medidorLatencia = medidor;
+	}
+
+	@Override
+	public void create() {
+		entrada = new SistemaEntrada(fuente);
+		nuevaPartida();
+	}
+
+	private void nuevaPartida() {
+		lluvia = Lluvia.getInstance(null, null, null, null,
+				Gdx.audio.newSound(null), Gdx.audio.newMusic(null));
+		lluvia.setConfiguracion(configuracion);
+		lluvia.setModoEcs(modoEcs);
+		lluvia.setFusionGotas(fusionGotas);
+		lluvia.setObstaculos(nivel.getJerarquia());
+		lluvia.crear();
+		tarro = new Tarro(null, Gdx.audio.newSound(null), configuracion);
+		tarro.crear();
+		partidas++;
+
+		if (fuente instanceof PilotoAutomatico) {
+			PilotoAutomatico piloto = (PilotoAutomatico) fuente;
+			if (lluvia.getMundoEcs() != null) {
+				piloto.vincular(lluvia.getMundoEcs(), tarro.getArea());
+			} else {
+				piloto.vincular(lluvia.getObjectManager(), tarro.getArea());
+			}
+		}
+	}
+
+	/**
+	 * Simula las gotas con el motor ECS (ver Lluvia.setModoEcs).
+	 */
+	public void setModoEcs(boolean modoEcs) {
+		this.modoEcs = modoEcs;
+	}
+
+	/**
+	 * Une las gotas superpuestas del mismo tipo (ver Lluvia.setFusionGotas).
+	 */
+	public void setFusionGotas(boolean fusionGotas) {
+		this.fusionGotas = fusionGotas;
+	}
+
+	/**
+	 * Obstaculos de las partidas simuladas (por defecto, ninguno).
+	 */
+	public void setNivel(Nivel nivel) {
+		if (nivel == null) {
+			throw new IllegalArgumentException("El nivel no puede ser null");
+		}
+		this.nivel = nivel;
+	}
+
+	/**
+	 * Cada 'ticks' ticks imprime tiempo por tick, gotas vivas, partidas y heap usado.
+	 */
+	public void setIntervaloReporte(long ticks) {
+		this.intervaloReporte = Math.max(0, ticks);
+	}
+
+	/**
+	 * Muestrea memoria y tamaño de los managers cada 'intervaloTicks' ticks.
+	 * Si al terminar se detecta crecimiento el proceso sale con codigo 1,
+	 * para que la prueba falle en integracion continua.
+	 */
+	public void setVerificadorMemoria(VerificadorMemoria verificador, long intervaloTicks) {
+		if (verificador != null && intervaloTicks <= 0) {
+			throw new IllegalArgumentException("El intervalo de muestreo debe ser positivo");
+		}
+		this.verificadorMemoria = verificador;
+		this.intervaloMemoria = intervaloTicks;
+	}
+
+	@Override
+	public void render() {
+		long inicioTick = TimeUtils.nanoTime();
+		FrameEntrada frame = entrada.muestrear();
+
+		if (!tarro.estaHerido()) {
+			if (medidorLatencia != null) medidorLatencia.registrarConsumo(frame, TimeUtils.nanoTime());
+			tarro.actualizarMovimiento(frame, deltaTick);
+			if (!lluvia.actualizarMovimiento(tarro, deltaTick)) {
+				puntosTotales += tarro.getPuntos();
+				lluvia.destruir();
+				nuevaPartida();
+			}
+		} else {
+			tarro.avanzarTiempoHerido();
+		}
+
+		// El tick t se ve 'framesEnCola' frames despues
+		if (medidorLatencia != null) {
+			medidorLatencia.registrarPresentacion(entrada.getTick() - framesEnCola, TimeUtils.nanoTime());
+		}
+
+		long duracionTick = TimeUtils.nanoTime() - inicioTick;
+		tiempoTicksNanos += duracionTick;
+		if (duracionTick > maxTickNanos) maxTickNanos = duracionTick;
+
+		ticks++;
+		if (intervaloReporte > 0 && ticks % intervaloReporte == 0) {
+			reportar();
+		}
+		if (verificadorMemoria != null && ticks % intervaloMemoria == 0) {
+			muestrearMemoria();
+		}
+		if (ticks >= ticksMaximos) {
+			Gdx.app.exit();
+		}
+	}
+
+	// en modo ECS las gotas viven en las tablas, no en el registro (vacio)
+	private void muestrearMemoria() {
+		MundoEcs mundo = lluvia.getMundoEcs();
+		if (mundo != null) {
+			int coleccionables = 0;
+			Array<TablaArquetipo> tablas = mundo.consultar(Componentes.RECOLECTABLE);
+			for (int t = 0; t < tablas.size; t++) {
+				coleccionables += tablas.get(t).getCantidad();
+			}
+			verificadorMemoria.muestrear(ticks / ticksPorSegundo, mundo.getCantidad(), coleccionables, 0);
+		} else {
+			GameObjectManager registro = lluvia.getObjectManager();
+			verificadorMemoria.muestrear(ticks / ticksPorSegundo, registro.getTotalCount(),
+					registro.getCountWith(GameObjectManager.COLLECTABLE), registro.getPendingCount());
+		}
+	}
+
+	private void reportar() {
+		Runtime runtime = Runtime.getRuntime();
+		long heapUsado = runtime.totalMemory() - runtime.freeMemory();
+		System.out.printf("[soak] tick=%d partidas=%d gotas=%d tick_prom=%.1fus tick_max=%.1fus heap=%dKB%n",
+				ticks, partidas, lluvia.getCantidadGotasActivas(),
+				tiempoTicksNanos / (double) intervaloReporte / 1000.0, maxTickNanos / 1000.0,
+				heapUsado / 1024);
+		tiempoTicksNanos = 0;
+		maxTickNanos = 0;
+	}
+
+	@Override
+	public void dispose() {
+		if (lluvia != null) lluvia.destruir();
+		System.out.println("Simulacion headless: " + ticks + " ticks, " + partidas + " partidas, "
+				+ (puntosTotales + (tarro != null ? tarro.getPuntos() : 0)) + " puntos");
+		if (medidorLatencia != null) {
+			System.out.println(medidorLatencia.getReporte());
+		}
+		if (fuente instanceof PilotoAutomatico) {
+			System.out.println("Piloto automatico: presupuesto de CPU excedido en "
+					+ ((PilotoAutomatico) fuente).getTicksExcedidos() + " ticks");
+		}
+		if (verificadorMemoria != null) {
+			boolean ok = verificadorMemoria.verificar();
+			System.out.println(verificadorMemoria.getReporte());
+			if (!ok) {
+				System.exit(1);
+			}
+		}
+	}
+
+	public long getTicks() { return ticks; }
+	public int getPartidas() { return partidas; }
+	public Lluvia getLluvia() { return lluvia; }
+	public Tarro getTarro() { return tarro; }
+}
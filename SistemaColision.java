@@ -0,0 +1,76 @@
+package com.mygame.rain.ecs;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Recoleccion de entidades RECOLECTABLE por varios colectores a la vez.
+ *
+ * Primero se descarta contra la union de los colectores; si la entidad toca
+ * a mas de uno gana el de mayor area de contacto (en empate el de menor
+ * indice), igual que en GameObjectManager. Cada recoleccion se anota en
+ * 'recolecciones' con el indice del colector como destino y la entidad se
+ * quita de su tabla.
+ */
+public class SistemaColision {
+
+    private static final int REQUIERE = Componentes.POSICION | Componentes.RECOLECTABLE;
+
+    /**
+     * @return cantidad de entidades recolectadas
+     */
+    public int actualizar(MundoEcs mundo, Array<Rectangle> colectores, BufferEventos recolecciones) {
+        int numColectores = colectores == null ? 0 : colectores.size;
+        if (numColectores == 0) return 0;
+
+        float uMinX = Float.MAX_VALUE, uMinY = Float.MAX_VALUE;
+        float uMaxX = -Float.MAX_VALUE, uMaxY = -Float.MAX_VALUE;
+        for (int c = 0; c < numColectores; c++) {
+            Rectangle r = colectores.get(c);
+            uMinX = Math.min(uMinX, r.x);
+            uMinY = Math.min(uMinY, r.y);
+            uMaxX = Math.max(uMaxX, r.x + r.width);
+            uMaxY = Math.max(uMaxY, r.y + r.height);
+        }
+
+        int recolectadas = 0;
+        Array<TablaArquetipo> tablas = mundo.consultar(REQUIERE);
+        for (int t = 0; t < tablas.size; t++) {
+            TablaArquetipo tabla = tablas.get(t);
+            int id = tabla.getArquetipo().getId();
+            float ancho = tabla.getArquetipo().getAncho();
+            float alto = tabla.getArquetipo().getAlto();
+
+            int i = 0;
+            while (i < tabla.cantidad) {
+                float x = tabla.x[i];
+                float y = tabla.y[i];
+                if (x >= uMaxX || x + ancho <= uMinX || y >= uMaxY || y + alto <= uMinY) {
+                    i++;
+                    continue;
+                }
+
+                int ganador = -1;
+                float mejorArea = 0;
+                for (int c = 0; c < numColectores; c++) {
+                    Rectangle r = colectores.get(c);
+                    float w = Math.min(x + ancho, r.x + r.width) - Math.max(x, r.x);
+                    float h = Math.min(y + alto, r.y + r.height) - Math.max(y, r.y);
+                    if (w > 0 && h > 0 && w * h > mejorArea) {
+                        mejorArea = w * h;
+                        ganador = c;
+                    }
+                }
+
+                if (ganador < 0) {
+                    i++;
+                    continue;
+                }
+                recolecciones.agregar(id, ganador, x, y);
+                tabla.quitar(i);
+                recolectadas++;
+            }
+        }
+        return recolectadas;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mygame.rain.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Muestrea la fuente de entrada una sola vez por tick y guarda el frame
+ * resultante. Registrado como InputProcessor, anota además el instante del
+ * último evento físico (tecla o toque) para medir la latencia entrada-imagen.
+ */
+public class SistemaEntrada extends InputAdapter {
+
+    private FuenteEntrada fuente;
+    private FrameEntrada actual = FrameEntrada.VACIO;
+    private long tick;
+    private long eventoPendienteNanos;
+
+    public SistemaEntrada(FuenteEntrada fuente) {
+        setFuente(fuente);
+    }
+
+    /**
+     * Toma la muestra del tick. Llamar una vez por tick antes de simular.
+     */
+    public FrameEntrada muestrear() {
+        tick++;
+        actual = fuente.muestrear(tick, TimeUtils.nanoTime(), eventoPendienteNanos);
+        eventoPendienteNanos = 0;
+        return actual;
+    }
+
+    /**
+     * Último frame muestreado (el mismo durante todo el tick).
+     */
+    public FrameEntrada getActual() {
+        return actual;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public void setFuente(FuenteEntrada fuente) {
+        if (fuente == null) {
+            throw new IllegalArgumentException("La fuente de entrada no puede ser null");
+        }
+        this.fuente = fuente;
+    }
+
+    public FuenteEntrada getFuente() {
+        return fuente;
+    }
+
+    private boolean registrarEvento() {
+        eventoPendienteNanos = Gdx.input.getCurrentEventTime();
+        return false;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) { return registrarEvento(); }
+
+    @Override
+    public boolean keyUp(int keycode) { return registrarEvento(); }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) { return registrarEvento(); }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) { return registrarEvento(); }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) { return registrarEvento(); }
+}
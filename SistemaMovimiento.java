@@ -0,0 +1,47 @@
+package com.mygame.rain.ecs;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.mygame.rain.clima.CampoFuerzas;
+
+/**
+ * Integra la velocidad de todas las entidades con POSICION y VELOCIDAD,
+ * mas el viento del campo en el centro de cada una si hay campo.
+ */
+public class SistemaMovimiento {
+
+    private static final int REQUIERE = Componentes.POSICION | Componentes.VELOCIDAD;
+
+    private CampoFuerzas campo;
+    private final Vector2 viento = new Vector2();
+
+    public void setCampo(CampoFuerzas campo) {
+        this.campo = campo;
+    }
+
+    public void actualizar(MundoEcs mundo, float deltaTime) {
+        Array<TablaArquetipo> tablas = mundo.consultar(REQUIERE);
+        for (int t = 0; t < tablas.size; t++) {
+            TablaArquetipo tabla = tablas.get(t);
+            float[] x = tabla.x;
+            float[] y = tabla.y;
+            float[] vx = tabla.vx;
+            float[] vy = tabla.vy;
+            int n = tabla.cantidad;
+            if (campo == null) {
+                for (int i = 0; i < n; i++) {
+                    x[i] += vx[i] * deltaTime;
+                    y[i] += vy[i] * deltaTime;
+                }
+                continue;
+            }
+            float medioAncho = tabla.getArquetipo().getAncho() / 2;
+            float medioAlto = tabla.getArquetipo().getAlto() / 2;
+            for (int i = 0; i < n; i++) {
+                campo.muestrear(x[i] + medioAncho, y[i] + medioAlto, viento);
+                x[i] += (vx[i] + viento.x) * deltaTime;
+                y[i] += (vy[i] + viento.y) * deltaTime;
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.mygame.rain.effects;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/**
+ * Particulas para salpicaduras y efectos de recoleccion.
+ *
+ * Todas las particulas viven en arreglos primitivos de tamaño fijo (sin
+ * objetos por particula), se actualizan en un solo ciclo y se dibujan con
+ * una misma region de textura, asi que el SpriteBatch las envia en un
+ * solo lote.
+ *
+ * Cada frame se pueden emitir como maximo 'presupuestoPorFrame' particulas;
+ * lo que pase de ahi se recorta. Ademas 'factorCalidad' (0..1) escala todas
+ * las emisiones para bajar la carga sin apagar los efectos.
+ */
+public class SistemaParticulas {
+
+    private static final float GRAVEDAD = -600f;
+
+    private final int capacidad;
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] vida;
+    private final float[] vidaInicial;
+    private final float[] tamano;
+    private final int[] colorBgr; // color empaquetado sin alfa (formato ABGR de libGDX)
+    private int cantidad;
+
+    private final int presupuestoPorFrame;
+    private int emitidasEsteFrame;
+    private int recortadasEsteFrame;
+    private int recortadasUltimoFrame;
+    private float factorCalidad = 1f;
+
+    private final TextureRegion region;
+    private final Texture texturaPropia;
+
+    /**
+     * @param region region que se dibuja por particula; null para simular sin dibujar
+     */
+    public SistemaParticulas(int capacidad, int presupuestoPorFrame, TextureRegion region) {
+        this(capacidad, presupuestoPorFrame, region, null);
+    }
+
+    private SistemaParticulas(int capacidad, int presupuestoPorFrame, TextureRegion region, Texture texturaPropia) {
+        if (capacidad <= 0 || presupuestoPorFrame <= 0) {
+            throw new IllegalArgumentException("Capacidad y presupuesto deben ser positivos");
+        }
+        this.capacidad = capacidad;
+        this.presupuestoPorFrame = presupuestoPorFrame;
+        this.region = region;
+        this.texturaPropia = texturaPropia;
+        x = new float[capacidad];
+        y = new float[capacidad];
+        vx = new float[capacidad];
+        vy = new float[capacidad];
+        vida = new float[capacidad];
+        vidaInicial = new float[capacidad];
+        tamano = new float[capacidad];
+        colorBgr = new int[capacidad];
+    }
+
+    /**
+     * Crea el sistema con su propia textura de 1x1 pixel blanco (se tiñe por particula).
+     */
+    public static SistemaParticulas conPixelBlanco(int capacidad, int presupuestoPorFrame) {
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        Texture textura = new Texture(pixmap);
+        pixmap.dispose();
+        return new SistemaParticulas(capacidad, presupuestoPorFrame, new TextureRegion(textura), textura);
+    }
+
+    /**
+     * Sistema vacio con la misma capacidad y region, sin textura propia,
+     * para guardar copias de dibujo (ver copiarDesde).
+     */
+    public SistemaParticulas crearCopiaDeDibujo() {
+        return new SistemaParticulas(capacidad, presupuestoPorFrame, region, null);
+    }
+
+    /**
+     * Reemplaza las particulas por las de 'origen' (misma capacidad). Sirve
+     * para que otro hilo dibuje el estado de un tick mientras el original
+     * sigue simulando.
+     */
+    public void copiarDesde(SistemaParticulas origen) {
+        if (origen.capacidad != capacidad) {
+            throw new IllegalArgumentException("Capacidades distintas");
+        }
+        int n = origen.cantidad;
+        System.arraycopy(origen.x, 0, x, 0, n);
+        System.arraycopy(origen.y, 0, y, 0, n);
+        System.arraycopy(origen.vida, 0, vida, 0, n);
+        System.arraycopy(origen.vidaInicial, 0, vidaInicial, 0, n);
+        System.arraycopy(origen.tamano, 0, tamano, 0, n);
+        System.arraycopy(origen.colorBgr, 0, colorBgr, 0, n);
+        cantidad = n;
+    }
+
+    // ===== EFECTOS PREDEFINIDOS =====
+
+    public void salpicadura(float px, float py) {
+        emitir(px, py, 8, 30f, 150f, 0.35f, 3f, 0.5f, 0.7f, 1f, 20f, 160f);
+    }
+
+    public void recoleccion(float px, float py) {
+        emitir(px, py, 12, 60f, 180f, 0.4f, 3f, 0.6f, 0.85f, 1f, 0f, 360f);
+    }
+
+    public void impactoMalo(float px, float py) {
+        emitir(px, py, 16, 80f, 220f, 0.5f, 4f, 0.9f, 0.2f, 0.2f, 0f, 360f);
+    }
+
+    public void maldicion(float px, float py) {
+        emitir(px, py, 40, 40f, 260f, 0.9f, 4f, 0.6f, 0.1f, 0.8f, 0f, 360f);
+    }
+
+    public void limpieza(float px, float py) {
+        emitir(px, py, 30, 100f, 300f, 0.7f, 4f, 0.3f, 1f, 0.4f, 0f, 360f);
+    }
+
+    /**
+     * Emite hasta 'pedidas' particulas con direccion aleatoria entre
+     * anguloMin y anguloMax (grados). Devuelve cuantas se emitieron realmente.
+     */
+    public int emitir(float px, float py, int pedidas, float velocidadMin, float velocidadMax,
+                      float duracion, float tamanoParticula, float r, float g, float b,
+                      float anguloMin, float anguloMax) {
+        int n = MathUtils.round(pedidas * factorCalidad);
+        int disponibles = Math.min(presupuestoPorFrame - emitidasEsteFrame, capacidad - cantidad);
+        if (n > disponibles) {
+            recortadasEsteFrame += n - Math.max(disponibles, 0);
+            n = disponibles;
+        }
+        if (n <= 0) return 0;
+
+        int bgr = ((int) (b * 255) << 16) | ((int) (g * 255) << 8) | (int) (r * 255);
+
+        for (int k = 0; k < n; k++) {
+            int i = cantidad++;
+            float angulo = MathUtils.random(anguloMin, anguloMax);
+            float velocidad = MathUtils.random(velocidadMin, velocidadMax);
+            x[i] = px;
+            y[i] = py;
+            vx[i] = MathUtils.cosDeg(angulo) * velocidad;
+            vy[i] = MathUtils.sinDeg(angulo) * velocidad;
+            vida[i] = duracion;
+            vidaInicial[i] = duracion;
+            tamano[i] = tamanoParticula;
+            colorBgr[i] = bgr;
+        }
+        emitidasEsteFrame += n;
+        return n;
+    }
+
+    /**
+     * Avanza todas las particulas y reinicia el presupuesto del frame.
+     * Las que mueren se reemplazan por la ultima (sin huecos en los arreglos).
+     */
+    public void actualizar(float delta) {
+        emitidasEsteFrame = 0;
+        recortadasUltimoFrame = recortadasEsteFrame;
+        recortadasEsteFrame = 0;
+
+        int i = 0;
+        while (i < cantidad) {
+            float restante = vida[i] - delta;
+            if (restante <= 0) {
+                mover(--cantidad, i);
+                continue;
+            }
+            vida[i] = restante;
+            vy[i] += GRAVEDAD * delta;
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+            i++;
+        }
+    }
+
+    /**
+     * Dibuja todas las particulas con la misma textura (un solo lote).
+     * Debe llamarse entre batch.begin() y batch.end().
+     */
+    public void dibujar(Batch batch) {
+        if (region == null || cantidad == 0) return;
+
+        float colorAnterior = batch.getPackedColor();
+        for (int i = 0; i < cantidad; i++) {
+            int alfa = (int) (255 * vida[i] / vidaInicial[i]);
+            batch.setPackedColor(NumberUtils.intToFloatColor((alfa << 24) | colorBgr[i]));
+            float t = tamano[i];
+            batch.draw(region, x[i] - t / 2, y[i] - t / 2, t, t);
+        }
+        batch.setPackedColor(colorAnterior);
+    }
+
+    private void mover(int desde, int hacia) {
+        x[hacia] = x[desde];
+        y[hacia] = y[desde];
+        vx[hacia] = vx[desde];
+        vy[hacia] = vy[desde];
+        vida[hacia] = vida[desde];
+        vidaInicial[hacia] = vidaInicial[desde];
+        tamano[hacia] = tamano[desde];
+        colorBgr[hacia] = colorBgr[desde];
+    }
+
+    public void limpiar() {
+        cantidad = 0;
+    }
+
+    public int getCantidad() { return cantidad; }
+    public int getCapacidad() { return capacidad; }
+    public int getPresupuestoPorFrame() { return presupuestoPorFrame; }
+    public int getRecortadasUltimoFrame() { return recortadasUltimoFrame; }
+
+    public float getFactorCalidad() { return factorCalidad; }
+
+    public void setFactorCalidad(float factorCalidad) {
+        this.factorCalidad = MathUtils.clamp(factorCalidad, 0f, 1f);
+    }
+
+    public void dispose() {
+        if (texturaPropia != null) {
+            texturaPropia.dispose();
+        }
+    }
+}
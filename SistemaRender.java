@@ -0,0 +1,48 @@
+package com.mygame.rain.ecs;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Dibuja las entidades con SPRITE usando una region por arquetipo. Se
+ * recorre tabla por tabla, asi que cada textura se envia en un solo lote
+ * (con el atlas, todas las tablas caen en el mismo).
+ */
+public class SistemaRender {
+
+    private static final int REQUIERE = Componentes.POSICION | Componentes.SPRITE;
+
+    private final TextureRegion[] regiones = new TextureRegion[MundoEcs.MAX_ARQUETIPOS];
+
+    public void setRegion(int idArquetipo, TextureRegion region) {
+        regiones[idArquetipo] = region;
+    }
+
+    /**
+     * @param vista region visible; null dibuja todo
+     */
+    public void dibujar(MundoEcs mundo, Batch batch, Rectangle vista) {
+        Array<TablaArquetipo> tablas = mundo.consultar(REQUIERE);
+        for (int t = 0; t < tablas.size; t++) {
+            TablaArquetipo tabla = tablas.get(t);
+            Arquetipo arquetipo = tabla.getArquetipo();
+            TextureRegion region = regiones[arquetipo.getId()];
+            if (region == null) continue;
+
+            float ancho = arquetipo.getAncho();
+            float alto = arquetipo.getAlto();
+            float[] x = tabla.x;
+            float[] y = tabla.y;
+            int n = tabla.cantidad;
+            for (int i = 0; i < n; i++) {
+                if (vista != null && (x[i] >= vista.x + vista.width || x[i] + ancho <= vista.x
+                        || y[i] >= vista.y + vista.height || y[i] + alto <= vista.y)) {
+                    continue;
+                }
+                batch.draw(region, x[i], y[i], ancho, alto);
+            }
+        }
+    }
+}
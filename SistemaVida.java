@@ -0,0 +1,59 @@
+package com.mygame.rain.ecs;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Quita las entidades que agotaron su VIDA y las que salieron de los
+ * limites del mundo. Cada salida del mundo se anota en 'salidas' (con la
+ * posicion que tenia) para salpicaduras u otros efectos.
+ */
+public class SistemaVida {
+
+    private float minX, maxX, minY, maxY;
+    private boolean hayLimites;
+
+    public void setLimites(float minX, float maxX, float minY, float maxY) {
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+        this.hayLimites = true;
+    }
+
+    /**
+     * @return cantidad de entidades quitadas
+     */
+    public int actualizar(MundoEcs mundo, float deltaTime, BufferEventos salidas) {
+        int quitadas = 0;
+        Array<TablaArquetipo> tablas = mundo.consultar(Componentes.POSICION);
+        for (int t = 0; t < tablas.size; t++) {
+            TablaArquetipo tabla = tablas.get(t);
+            Arquetipo arquetipo = tabla.getArquetipo();
+            float ancho = arquetipo.getAncho();
+            float alto = arquetipo.getAlto();
+            float[] vida = tabla.vida;
+
+            int i = 0;
+            while (i < tabla.cantidad) {
+                if (vida != null) {
+                    vida[i] -= deltaTime;
+                    if (vida[i] <= 0) {
+                        tabla.quitar(i);
+                        quitadas++;
+                        continue;
+                    }
+                }
+                float x = tabla.x[i];
+                float y = tabla.y[i];
+                if (hayLimites && (x + ancho < minX || x > maxX || y + alto < minY || y > maxY)) {
+                    if (salidas != null) salidas.agregar(arquetipo.getId(), 0, x, y);
+                    tabla.quitar(i);
+                    quitadas++;
+                    continue;
+                }
+                i++;
+            }
+        }
+        return quitadas;
+    }
+}
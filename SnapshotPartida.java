@@ -0,0 +1,99 @@
+package puppy.code;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Instantanea binaria e inmutable de una partida (Lluvia + Tarro).
+ *
+ * Formato: cabecera "LLUV" + version, luego el estado de Lluvia y el del
+ * Tarro escritos campo a campo (sin reflexion). Como es inmutable, una misma
+ * instantanea se puede restaurar en varias simulaciones para probar
+ * variantes a partir del mismo punto.
+ */
+public final class SnapshotPartida {
+
+	private static final int MAGICO = 0x4C4C5556; // "LLUV"
+	private static final short VERSION = 3;
+
+	private final byte[] datos;
+
+	private SnapshotPartida(byte[] datos) {
+		this.datos = datos;
+	}
+
+	public static SnapshotPartida capturar(Lluvia lluvia, Tarro tarro) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(MAGICO);
+			out.writeShort(VERSION);
+			lluvia.escribirEstado(out);
+			tarro.escribirEstado(out);
+		} catch (IOException e) {
+			throw new GdxRuntimeException("No se pudo capturar la partida", e);
+		}
+		return new SnapshotPartida(bytes.toByteArray());
+	}
+
+	public static SnapshotPartida desdeBytes(byte[] datos) {
+		if (datos == null || datos.length < 6) {
+			throw new IllegalArgumentException("Instantanea vacia o truncada");
+		}
+		return new SnapshotPartida(datos.clone());
+	}
+
+	/**
+	 * @throws GdxRuntimeException si no se puede leer, o si no tiene la
+	 *         cabecera y version de una partida guardada
+	 */
+	public static SnapshotPartida cargar(FileHandle archivo) {
+		byte[] datos = archivo.readBytes();
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(datos))) {
+			leerCabecera(in);
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Partida guardada corrupta", e);
+		}
+		return new SnapshotPartida(datos);
+	}
+
+	/**
+	 * Restaura la instantanea en una Lluvia ya creada y un Tarro ya creado.
+	 */
+	public void restaurar(Lluvia lluvia, Tarro tarro) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(datos))) {
+			leerCabecera(in);
+			lluvia.leerEstado(in);
+			tarro.leerEstado(in);
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Partida guardada corrupta", e);
+		}
+	}
+
+	private static void leerCabecera(DataInputStream in) throws IOException {
+		if (in.readInt() != MAGICO) {
+			throw new GdxRuntimeException("El archivo no es una partida guardada");
+		}
+		short version = in.readShort();
+		if (version != VERSION) {
+			throw new GdxRuntimeException("Version de partida no soportada: " + version);
+		}
+	}
+
+	public void guardar(FileHandle archivo) {
+		archivo.writeBytes(datos, false);
+	}
+
+	public byte[] getBytes() {
+		return datos.clone();
+	}
+
+	public int getTamano() {
+		return datos.length;
+	}
+}
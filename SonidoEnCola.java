@@ -0,0 +1,91 @@
+package puppy.code;
+
+import com.badlogic.gdx.audio.Sound;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sound que no reproduce en el hilo que llama a play(): solo cuenta las
+ * reproducciones pedidas (sin bloqueo) y el hilo de render las hace con
+ * reproducirPendientes(). Lo usa el modo con hilo de simulacion, donde
+ * Lluvia y Tarro piden sonidos fuera del hilo de libGDX.
+ *
+ * play() devuelve -1 porque la instancia aun no existe; el resto de los
+ * metodos se delega al sonido real.
+ */
+public class SonidoEnCola implements Sound {
+
+	// Mas de esto por frame se oye igual y satura el mezclador
+	private static final int MAXIMO_POR_FRAME = 4;
+
+	private final Sound sonido;
+	private final AtomicInteger pendientes = new AtomicInteger();
+
+	public SonidoEnCola(Sound sonido) {
+		this.sonido = sonido;
+	}
+
+	/**
+	 * Reproduce lo pedido desde el ultimo llamado. Solo en el hilo de render.
+	 */
+	public void reproducirPendientes() {
+		int n = Math.min(pendientes.getAndSet(0), MAXIMO_POR_FRAME);
+		for (int i = 0; i < n; i++) {
+			sonido.play();
+		}
+	}
+
+	@Override
+	public long play() {
+		pendientes.incrementAndGet();
+		return -1;
+	}
+
+	@Override
+	public long play(float volume) { return play(); }
+
+	@Override
+	public long play(float volume, float pitch, float pan) { return play(); }
+
+	@Override
+	public long loop() { return sonido.loop(); }
+
+	@Override
+	public long loop(float volume) { return sonido.loop(volume); }
+
+	@Override
+	public long loop(float volume, float pitch, float pan) { return sonido.loop(volume, pitch, pan); }
+
+	@Override
+	public void stop() { sonido.stop(); }
+
+	@Override
+	public void pause() { sonido.pause(); }
+
+	@Override
+	public void resume() { sonido.resume(); }
+
+	@Override
+	public void dispose() { sonido.dispose(); }
+
+	@Override
+	public void stop(long soundId) { sonido.stop(soundId); }
+
+	@Override
+	public void pause(long soundId) { sonido.pause(soundId); }
+
+	@Override
+	public void resume(long soundId) { sonido.resume(soundId); }
+
+	@Override
+	public void setLooping(long soundId, boolean looping) { sonido.setLooping(soundId, looping); }
+
+	@Override
+	public void setPitch(long soundId, float pitch) { sonido.setPitch(soundId, pitch); }
+
+	@Override
+	public void setVolume(long soundId, float volume) { sonido.setVolume(soundId, volume); }
+
+	@Override
+	public void setPan(long soundId, float pan, float volume) { sonido.setPan(soundId, pan, volume); }
+}
@@ -0,0 +1,100 @@
+package com.mygame.rain.ecs;
+
+/**
+ * Entidades de un mismo arquetipo en arreglos primitivos paralelos (una
+ * columna por componente). Las filas [0, cantidad) estan vivas; al quitar
+ * una se mueve la ultima a su lugar, asi los sistemas recorren siempre un
+ * bloque denso.
+ *
+ * Las columnas de componentes que el arquetipo no tiene quedan en null.
+ */
+public final class TablaArquetipo {
+
+    private final Arquetipo arquetipo;
+
+    public float[] x;
+    public float[] y;
+    public float[] vx;
+    public float[] vy;
+    public float[] vida;
+    int cantidad;
+
+    TablaArquetipo(Arquetipo arquetipo, int capacidadInicial) {
+        this.arquetipo = arquetipo;
+        int capacidad = Math.max(capacidadInicial, 16);
+        x = new float[capacidad];
+        y = new float[capacidad];
+        if (arquetipo.tiene(Componentes.VELOCIDAD)) {
+            vx = new float[capacidad];
+            vy = new float[capacidad];
+        }
+        if (arquetipo.tiene(Componentes.VIDA)) {
+            vida = new float[capacidad];
+        }
+    }
+
+    /**
+     * Agrega una fila con los valores iniciales del arquetipo y devuelve su indice.
+     */
+    int agregar(float px, float py) {
+        if (cantidad == x.length) {
+            crecer(x.length * 2);
+        }
+        int i = cantidad++;
+        x[i] = px;
+        y[i] = py;
+        if (vx != null) {
+            vx[i] = arquetipo.getVelocidadX();
+            vy[i] = arquetipo.getVelocidadY();
+        }
+        if (vida != null) {
+            vida[i] = arquetipo.getVida();
+        }
+        return i;
+    }
+
+    /**
+     * Quita la fila i moviendo la ultima a su lugar. Quien recorra la tabla
+     * mientras quita debe volver a procesar el indice i.
+     */
+    void quitar(int i) {
+        int ultima = --cantidad;
+        if (i != ultima) {
+            x[i] = x[ultima];
+            y[i] = y[ultima];
+            if (vx != null) {
+                vx[i] = vx[ultima];
+                vy[i] = vy[ultima];
+            }
+            if (vida != null) {
+                vida[i] = vida[ultima];
+            }
+        }
+    }
+
+    void limpiar() {
+        cantidad = 0;
+    }
+
+    private void crecer(int capacidad) {
+        x = copiar(x, capacidad);
+        y = copiar(y, capacidad);
+        if (vx != null) {
+            vx = copiar(vx, capacidad);
+            vy = copiar(vy, capacidad);
+        }
+        if (vida != null) {
+            vida = copiar(vida, capacidad);
+        }
+    }
+
+    private static float[] copiar(float[] origen, int capacidad) {
+        float[] nuevo = new float[capacidad];
+        System.arraycopy(origen, 0, nuevo, 0, origen.length);
+        return nuevo;
+    }
+
+    public Arquetipo getArquetipo() { return arquetipo; }
+    public int getCantidad() { return cantidad; }
+    public int getCapacidad() { return x.length; }
+}
@@ -1,17 +1,21 @@
 package puppy.code;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
+import com.mygame.rain.entities.MascaraAlfa;
+import com.mygame.rain.input.FrameEntrada;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 
 public class Tarro {
 	   private Rectangle bucket;
-	   private Texture bucketImage;
+	   private TextureRegion bucketImage;
 	   private Sound sonidoHerido;
 	   private int vidas = 3;
 	   private int puntos = 0;
@@ -19,11 +23,19 @@ public class Tarro {
 	   private boolean herido = false;
 	   private int tiempoHeridoMax=50;
 	   private int tiempoHerido;
+	   private final float anchoMundo;
+	   // pixeles opacos del tarro para la colision exacta (null = solo el area)
+	   private MascaraAlfa mascara;
 	   
 	   
-	   public Tarro(Texture tex, Sound ss) {
+	   public Tarro(TextureRegion tex, Sound ss) {
+		   this(tex, ss, ConfiguracionMundo.porDefecto());
+	   }
+
+	   public Tarro(TextureRegion tex, Sound ss, ConfiguracionMundo configuracion) {
 		   bucketImage = tex;
 		   sonidoHerido = ss;
+		   anchoMundo = configuracion.getAnchoMundo();
 	   }
 	   
 		public int getVidas() {
@@ -36,20 +48,40 @@ public class Tarro {
 		public Rectangle getArea() {
 			return bucket;
 		}
+		public MascaraAlfa getMascara() {
+			return mascara;
+		}
+		public void setMascara(MascaraAlfa mascara) {
+			this.mascara = mascara;
+		}
 		public void sumarPuntos(int pp) {
 			puntos+=pp;
 		}
 		
 	
 	   public void crear() {
+		      crear(anchoMundo / 2 - 64 / 2);
+	   }
+
+	   /**
+	    * Crea el tarro en una posicion x dada (multijugador local).
+	    */
+	   public void crear(float x) {
 		      bucket = new Rectangle();
-		      bucket.x = 800 / 2 - 64 / 2;
+		      bucket.x = x;
 		      bucket.y = 20;
 		      bucket.width = 64;
 		      bucket.height = 64;
 	   }
 	   public void dañar() {
-		  vidas--;
+		  dañar(1);
+	   }
+
+	   /**
+	    * Quita varias vidas de un golpe (gotas malas fusionadas).
+	    */
+	   public void dañar(int cantidad) {
+		  vidas = Math.max(0, vidas - cantidad);
 		  herido = true;
 		  tiempoHerido=tiempoHeridoMax;
 		  sonidoHerido.play();
@@ -60,24 +92,77 @@ public class Tarro {
 		 else {
 		
 		   batch.draw(bucketImage, bucket.x, bucket.y+ MathUtils.random(-5,5));
-		   tiempoHerido--;
-		   if (tiempoHerido<=0) herido = false;
+		   avanzarTiempoHerido();
 		 }
 	   } 
+
+	   /**
+	    * Dibuja el tarro en su posicion, sin temblor ni avanzar la animacion
+	    * de herido (para imagenes fijas como la de la pausa).
+	    */
+	   public void dibujarQuieto(SpriteBatch batch) {
+		   batch.draw(bucketImage, bucket.x, bucket.y);
+	   }
+
+	   /**
+	    * Dibuja el tarro en una posicion dada (instantaneas del hilo de
+	    * simulacion); no toca el estado del tarro.
+	    */
+	   public void dibujarEn(SpriteBatch batch, float x, float y, boolean conTemblor) {
+		   batch.draw(bucketImage, x, conTemblor ? y + MathUtils.random(-5,5) : y);
+	   }
+
+	   /**
+	    * Descuenta un frame de la animacion de herido. dibujar() lo hace solo;
+	    * las simulaciones sin pantalla deben llamarlo una vez por tick.
+	    */
+	   public void avanzarTiempoHerido() {
+		   if (!herido) return;
+		   tiempoHerido--;
+		   if (tiempoHerido<=0) herido = false;
+	   }
 	   
 	   
-	   public void actualizarMovimiento() { 
-		   //movimiento desde teclado
-		   if(Gdx.input.isKeyPressed(Input.Keys.LEFT)) bucket.x -= velx * Gdx.graphics.getDeltaTime();
-		   if(Gdx.input.isKeyPressed(Input.Keys.RIGHT)) bucket.x += velx * Gdx.graphics.getDeltaTime();
+	   /**
+	    * Mueve el tarro segun la entrada ya muestreada del tick: arrastre hacia
+	    * objetivoX si lo hay, si no izquierda/derecha.
+	    */
+	   public void actualizarMovimiento(FrameEntrada entrada, float deltaTime) { 
+		   float paso = velx * deltaTime;
+		   if (entrada.tieneObjetivo()) {
+			   float destino = entrada.getObjetivoX() - bucket.width / 2;
+			   bucket.x += MathUtils.clamp(destino - bucket.x, -paso, paso);
+		   } else {
+			   if(entrada.isIzquierda()) bucket.x -= paso;
+			   if(entrada.isDerecha()) bucket.x += paso;
+		   }
 		   // que no se salga de los bordes izq y der
 		   if(bucket.x < 0) bucket.x = 0;
-		   if(bucket.x > 800 - 64) bucket.x = 800 - 64;
+		   if(bucket.x > anchoMundo - 64) bucket.x = anchoMundo - 64;
 	   }
 	    
 
+	   public void escribirEstado(DataOutput out) throws IOException {
+		   out.writeFloat(bucket.x);
+		   out.writeFloat(bucket.y);
+		   out.writeInt(vidas);
+		   out.writeInt(puntos);
+		   out.writeBoolean(herido);
+		   out.writeInt(tiempoHerido);
+	   }
+
+	   public void leerEstado(DataInput in) throws IOException {
+		   bucket.x = in.readFloat();
+		   bucket.y = in.readFloat();
+		   vidas = in.readInt();
+		   puntos = in.readInt();
+		   herido = in.readBoolean();
+		   tiempoHerido = in.readInt();
+	   }
+
 	public void destruir() {
-		    bucketImage.dispose();
+		    // la region es de Recursos, que libera su textura
+		    bucketImage = null;
 	   }
 	
    public boolean estaHerido() {
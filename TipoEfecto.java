@@ -0,0 +1,27 @@
+package com.mygame.rain.effects;
+
+/**
+ * Efectos temporales y los modificadores que aplican mientras estan activos.
+ */
+public enum TipoEfecto {
+
+    // apilable, maxPilas, multiplicadorGotas (por pila), probabilidadGotaMala (-1 = sin cambio)
+    MALDICION(false, 1, 2f, 100);
+
+    private final boolean apilable;
+    private final int maxPilas;
+    private final float multiplicadorGotas;
+    private final int probabilidadGotaMala;
+
+    TipoEfecto(boolean apilable, int maxPilas, float multiplicadorGotas, int probabilidadGotaMala) {
+        this.apilable = apilable;
+        this.maxPilas = maxPilas;
+        this.multiplicadorGotas = multiplicadorGotas;
+        this.probabilidadGotaMala = probabilidadGotaMala;
+    }
+
+    public boolean isApilable() { return apilable; }
+    public int getMaxPilas() { return maxPilas; }
+    public float getMultiplicadorGotas() { return multiplicadorGotas; }
+    public int getProbabilidadGotaMala() { return probabilidadGotaMala; }
+}
@@ -0,0 +1,86 @@
+package com.mygame.rain.entities;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygame.rain.interfaces.MovimientoStrategy;
+
+/**
+ * Descriptor compartido e inmutable de un tipo de gota (flyweight): lo que
+ * tienen en comun todas las gotas del tipo (textura, tamaño, mascara,
+ * estrategia, puntos, daño, duracion del efecto). Cada Gota guarda solo una
+ * referencia a su tipo.
+ *
+ * Los ids son los mismos del modo ECS, las instantaneas y las partidas
+ * guardadas.
+ */
+public final class TipoGota {
+
+    public static final byte BUENA = 0;
+    public static final byte MALA = 1;
+    public static final byte LIMPIEZA = 2;
+    public static final byte MALDICION = 3;
+    public static final int CANTIDAD = 4;
+
+    private final byte id;
+    private final String nombre;
+    private final TextureRegion region;
+    private final MascaraAlfa mascara;
+    private final int puntos;
+    private final int danio;
+    private final float duracionEfecto;
+    private final MovimientoStrategy[] estrategias;
+
+    // tamaño por carga (gotas fusionadas): el area crece con la carga
+    private final float[] anchoPorCarga;
+    private final float[] altoPorCarga;
+
+    /**
+     * @param mascara            mascara alfa del tamaño base, o null para colision por AABB
+     * @param estrategiasPorCarga estrategia de una gota con carga 1, 2, ...; su largo es la
+     *                            carga maxima (1 = el tipo no se fusiona)
+     */
+    public TipoGota(byte id, String nombre, TextureRegion region, MascaraAlfa mascara,
+                    float ancho, float alto, int puntos, int danio, float duracionEfecto,
+                    MovimientoStrategy[] estrategiasPorCarga) {
+        if (ancho <= 0 || alto <= 0) {
+            throw new IllegalArgumentException("Width y height deben ser positivos");
+        }
+        if (estrategiasPorCarga == null || estrategiasPorCarga.length == 0) {
+            throw new IllegalArgumentException("Se necesita al menos una estrategia de movimiento");
+        }
+        this.id = id;
+        this.nombre = nombre;
+        this.region = region;
+        this.mascara = mascara;
+        this.puntos = puntos;
+        this.danio = danio;
+        this.duracionEfecto = duracionEfecto;
+        this.estrategias = estrategiasPorCarga.clone();
+
+        int cargaMaxima = estrategias.length;
+        anchoPorCarga = new float[cargaMaxima + 1];
+        altoPorCarga = new float[cargaMaxima + 1];
+        for (int c = 1; c <= cargaMaxima; c++) {
+            float escala = (float) Math.sqrt(c);
+            anchoPorCarga[c] = ancho * escala;
+            altoPorCarga[c] = alto * escala;
+        }
+    }
+
+    public byte getId() { return id; }
+    public String getNombre() { return nombre; }
+    public TextureRegion getRegion() { return region; }
+    public float getAncho() { return anchoPorCarga[1]; }
+    public float getAlto() { return altoPorCarga[1]; }
+    public int getPuntos() { return puntos; }
+    public int getDanio() { return danio; }
+    public float getDuracionEfecto() { return duracionEfecto; }
+    public int getCargaMaxima() { return estrategias.length; }
+
+    float getAncho(int carga) { return anchoPorCarga[carga]; }
+    float getAlto(int carga) { return altoPorCarga[carga]; }
+
+    // la mascara corresponde al tamaño base; las fusionadas chocan por AABB
+    MascaraAlfa getMascara(int carga) { return carga == 1 ? mascara : null; }
+
+    MovimientoStrategy getEstrategia(int carga) { return estrategias[carga - 1]; }
+}
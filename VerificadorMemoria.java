@@ -0,0 +1,138 @@
+package com.mygame.rain.diagnostico;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+/**
+ * Detecta fugas en simulaciones largas.
+ *
+ * En cada muestra guarda el tamaño de los registros de entidades y el heap
+ * usado tras forzar GC. Al final compara la primera mitad de la corrida con
+ * la segunda: en estado estable los registros no deben crecer más que
+ * 'toleranciaEntidades', y la pendiente del heap retenido no debe superar
+ * 'toleranciaBytesPorHora'. Cualquier otro resultado se reporta como fuga.
+ */
+public class VerificadorMemoria {
+
+    private final float toleranciaEntidades;
+    private final long toleranciaBytesPorHora;
+
+    private final LongArray segundos = new LongArray();
+    private final LongArray heap = new LongArray();
+    private final IntArray objetos = new IntArray();
+    private final IntArray coleccionables = new IntArray();
+    private final IntArray pendientes = new IntArray();
+
+    private String motivoFallo;
+
+    /**
+     * @param toleranciaEntidades    crecimiento relativo permitido del máximo de entidades (0.5 = +50%)
+     * @param toleranciaBytesPorHora crecimiento permitido del heap retenido
+     */
+    public VerificadorMemoria(float toleranciaEntidades, long toleranciaBytesPorHora) {
+        this.toleranciaEntidades = toleranciaEntidades;
+        this.toleranciaBytesPorHora = toleranciaBytesPorHora;
+    }
+
+    public VerificadorMemoria() {
+        this(0.5f, 256 * 1024);
+    }
+
+    /**
+     * Toma una muestra. Fuerza GC, así que conviene llamarlo cada varios
+     * minutos de simulación, no por tick.
+     */
+    public void muestrear(long segundosSimulados, int totalObjetos, int totalColeccionables, int totalPendientes) {
+        segundos.add(segundosSimulados);
+        heap.add(heapRetenido());
+        objetos.add(totalObjetos);
+        coleccionables.add(totalColeccionables);
+        pendientes.add(totalPendientes);
+    }
+
+    /**
+     * @return true si no se detectó crecimiento
+     */
+    public boolean verificar() {
+        motivoFallo = null;
+        int n = heap.size;
+        if (n < 4) {
+            motivoFallo = "muy pocas muestras (" + n + ")";
+            return false;
+        }
+
+        int mitad = n / 2;
+        if (creceEntidades(objetos, mitad)) {
+            motivoFallo = "Entidades registradas crecen: " + maximo(objetos, 0, mitad) + " -> " + maximo(objetos, mitad, n);
+        } else if (creceEntidades(coleccionables, mitad)) {
+            motivoFallo = "Coleccionables registrados crecen: " + maximo(coleccionables, 0, mitad) + " -> " + maximo(coleccionables, mitad, n);
+        } else if (creceEntidades(pendientes, mitad)) {
+            motivoFallo = "Altas/bajas pendientes crecen: " + maximo(pendientes, 0, mitad) + " -> " + maximo(pendientes, mitad, n);
+        } else if (pendienteHeapBytesPorHora(mitad) > toleranciaBytesPorHora) {
+            motivoFallo = String.format("Heap retenido crece %.1f KB/h", pendienteHeapBytesPorHora(mitad) / 1024.0);
+        }
+        return motivoFallo == null;
+    }
+
+    public String getMotivoFallo() {
+        return motivoFallo;
+    }
+
+    public String getReporte() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("=== Memoria ===\n");
+        for (int i = 0; i < heap.size; i++) {
+            sb.append(String.format("t=%6ds heap=%8dKB (%+dKB desde la 1a muestra) objetos=%5d coleccionables=%5d pendientes=%4d%n",
+                    segundos.get(i), heap.get(i) / 1024, (heap.get(i) - heap.get(0)) / 1024,
+                    objetos.get(i), coleccionables.get(i), pendientes.get(i)));
+        }
+        if (heap.size >= 4) {
+            sb.append(String.format("Pendiente heap (2a mitad): %.1f KB/h%n",
+                    pendienteHeapBytesPorHora(heap.size / 2) / 1024.0));
+        }
+        if (motivoFallo != null) {
+            sb.append("FUGA: ").append(motivoFallo).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private boolean creceEntidades(IntArray valores, int mitad) {
+        int antes = maximo(valores, 0, mitad);
+        int despues = maximo(valores, mitad, valores.size);
+        // +16 para no marcar ruido cuando los valores son pequeños
+        return despues > antes * (1 + toleranciaEntidades) + 16;
+    }
+
+    private static int maximo(IntArray valores, int desde, int hasta) {
+        int max = 0;
+        for (int i = desde; i < hasta; i++) max = Math.max(max, valores.get(i));
+        return max;
+    }
+
+    /**
+     * Regresión lineal (mínimos cuadrados) del heap sobre el tiempo en la
+     * segunda mitad; la primera mitad se descarta como calentamiento.
+     */
+    private double pendienteHeapBytesPorHora(int desde) {
+        int n = heap.size - desde;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = desde; i < heap.size; i++) {
+            double x = segundos.get(i) / 3600.0;
+            double y = heap.get(i);
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+        }
+        double denominador = n * sxx - sx * sx;
+        return denominador == 0 ? 0 : (n * sxy - sx * sy) / denominador;
+    }
+
+    private static long heapRetenido() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 2; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}